@@ -115,8 +115,12 @@ public interface ConfigObject {
     
     boolean doesFastEntryRendering();
     
+    boolean doesCacheItemIcons();
+    
     boolean doDebugRenderTimeRequired();
     
+    boolean doDebugOverlayFrameTimeRequired();
+    
     ModifierKeyCode getFavoriteKeyCode();
     
     ModifierKeyCode getRecipeKeybind();
@@ -37,6 +37,7 @@ import net.minecraft.resources.ResourceLocation;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -98,6 +99,14 @@ public interface CategoryRegistry extends Reloadable<REIClientPlugin>, Iterable<
     
     int size();
     
+    /**
+     * Returns the identifiers of the categories which the stack is a workstation of, looked up by its fuzzy hash.
+     *
+     * @param stack the stack to look up
+     * @return the identifiers of the categories
+     */
+    Set<CategoryIdentifier<?>> getWorkstationCategories(EntryStack<?> stack);
+    
     default <D extends Display> void addWorkstations(CategoryIdentifier<D> category, EntryIngredient... stations) {
         configure(category, config -> config.addWorkstations(stations));
     }
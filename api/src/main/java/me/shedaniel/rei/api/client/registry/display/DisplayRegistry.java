@@ -143,6 +143,23 @@ public interface DisplayRegistry extends RecipeManagerContext<REIClientPlugin> {
         return !isDisplayVisible(display);
     }
     
+    /**
+     * Returns an unmodifiable list of the visible displays of a category, the result is cached
+     * until the displays, the visibility predicates, or {@link #invalidateVisibility()} change it.
+     * The cache is also invalidated when the config screen is saved and when a container screen is opened.
+     *
+     * @param categoryId the identifier of the category
+     * @param <D>        the type of display
+     * @return an unmodifiable list of the visible displays
+     */
+    <D extends Display> List<D> getVisibleDisplays(CategoryIdentifier<D> categoryId);
+    
+    /**
+     * Invalidates the cached visibility of displays, visibility predicates depending on state
+     * other than the config should call this when their results change.
+     */
+    void invalidateVisibility();
+    
     /**
      * Returns an unmodifiable list of visibility predicates.
      *
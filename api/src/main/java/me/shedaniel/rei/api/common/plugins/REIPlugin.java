@@ -47,6 +47,30 @@ public interface REIPlugin<P extends REIPlugin<?>> extends Comparable<REIPlugin<
         return simpleName == null ? self.getName() : simpleName;
     }
     
+    /**
+     * Returns whether the registration callbacks of this plugin are safe to be called off the reload thread,
+     * alongside other concurrent plugins. Registrations made by concurrent plugins are buffered per plugin,
+     * and applied in priority order once every concurrent plugin has finished.
+     *
+     * @return whether the registration callbacks of this plugin can be called concurrently
+     * @see me.shedaniel.rei.api.common.registry.Reloadable#isConcurrent()
+     */
+    default boolean isConcurrent() {
+        return false;
+    }
+    
+    /**
+     * Returns whether the registrations of this plugin read the recipe manager directly, instead of using display fillers.
+     * When no plugin depends on recipes, a recipe update only re-fills the displays of the added, changed and removed recipes,
+     * instead of reloading every plugin.
+     *
+     * @return whether the registrations of this plugin depend on the recipes
+     * @see me.shedaniel.rei.api.client.registry.display.DisplayRegistry#registerFiller(Class, java.util.function.Function)
+     */
+    default boolean dependsOnRecipes() {
+        return false;
+    }
+    
     @Override
     default int compareTo(REIPlugin o) {
         return Double.compare(getPriority(), o.getPriority());
@@ -45,4 +45,11 @@ public interface ParentReloadable<P extends REIPlugin<?>> extends Reloadable<P>
             reloadable.endReload();
         }
     }
+    
+    @Override
+    default void abortReload() {
+        for (Reloadable<P> reloadable : getReloadables()) {
+            reloadable.abortReload();
+        }
+    }
 }
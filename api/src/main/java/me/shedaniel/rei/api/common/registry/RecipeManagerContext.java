@@ -26,10 +26,12 @@ package me.shedaniel.rei.api.common.registry;
 import me.shedaniel.architectury.utils.NbtType;
 import me.shedaniel.rei.api.common.plugins.PluginManager;
 import me.shedaniel.rei.api.common.plugins.REIPlugin;
+import me.shedaniel.rei.api.common.util.CollectionUtils;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.item.crafting.Recipe;
 import net.minecraft.world.item.crafting.RecipeManager;
+import net.minecraft.world.item.crafting.RecipeType;
 
 import java.util.List;
 
@@ -43,6 +45,15 @@ public interface RecipeManagerContext<P extends REIPlugin<?>> extends Reloadable
      */
     List<Recipe<?>> getAllSortedRecipes();
     
+    /**
+     * @param type the type of the recipes
+     * @param <T>  the type of the recipes
+     * @return a list of sorted recipes of the given type
+     */
+    default <T extends Recipe<?>> List<T> getAllSortedRecipes(RecipeType<T> type) {
+        return (List<T>) CollectionUtils.filterToList(getAllSortedRecipes(), recipe -> recipe.getType() == type);
+    }
+    
     /**
      * Gets the vanilla recipe manager
      *
@@ -31,6 +31,12 @@ public interface Reloadable<P extends REIPlugin<?>> {
     
     default void endReload() {}
     
+    /**
+     * Discards the state built since {@link Reloadable#startReload()}, called instead of {@link Reloadable#endReload()}
+     * when a reload is cancelled or fails before being published.
+     */
+    default void abortReload() {}
+    
     /**
      * Accepts a {@link REIPlugin}
      *
@@ -25,6 +25,9 @@ package me.shedaniel.rei.api.common.transfer;
 
 import com.google.common.collect.Lists;
 import it.unimi.dsi.fastutil.ints.*;
+import it.unimi.dsi.fastutil.longs.*;
+import me.shedaniel.rei.api.common.entry.comparison.ComparisonContext;
+import me.shedaniel.rei.api.common.entry.comparison.ItemComparatorRegistry;
 import net.minecraft.core.NonNullList;
 import net.minecraft.core.Registry;
 import net.minecraft.world.item.Item;
@@ -33,16 +36,35 @@ import net.minecraft.world.item.crafting.Ingredient;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.BitSet;
 import java.util.List;
+import java.util.Objects;
 
 public class RecipeFinder {
     public final Int2IntMap idToAmountMap = new Int2IntOpenHashMap();
+    private final Long2IntMap keyToAmountMap = new Long2IntOpenHashMap();
+    private final Long2ObjectMap<ItemStack> keyToStackMap = new Long2ObjectOpenHashMap<>();
     
     public static int getItemId(ItemStack stack) {
         return Registry.ITEM.getId(stack.getItem());
     }
     
+    /**
+     * Returns the key of a stack, stacks with the same key are interchangeable in recipes.
+     * The key is made of the item and the exact hash of the stack from {@link ItemComparatorRegistry},
+     * or the hash of the tag of the stack for items without registered comparators,
+     * so differently tagged stacks have different keys.
+     *
+     * @param stack the stack
+     * @return the key of the stack
+     */
+    public static long getStackKey(ItemStack stack) {
+        ItemComparatorRegistry registry = ItemComparatorRegistry.getInstance();
+        long hash = registry.containsComparator(stack.getItem()) ? registry.hashOf(ComparisonContext.EXACT, stack) : Objects.hashCode(stack.getTag());
+        return hash * 31 + getItemId(stack);
+    }
+    
     public static ItemStack getStackFromId(int itemId) {
         return itemId == 0 ? ItemStack.EMPTY : new ItemStack(Item.byId(itemId));
     }
@@ -62,10 +84,110 @@ public class RecipeFinder {
             int itemId = getItemId(stack);
             int itemCount = Math.min(count, stack.getCount());
             this.addItem(itemId, itemCount);
+            long key = getStackKey(stack);
+            this.keyToAmountMap.put(key, this.keyToAmountMap.get(key) + itemCount);
+            if (!this.keyToStackMap.containsKey(key)) {
+                ItemStack copy = stack.copy();
+                copy.setCount(1);
+                this.keyToStackMap.put(key, copy);
+            }
         }
         
     }
     
+    public boolean containsStack(long key) {
+        return this.keyToAmountMap.get(key) > 0;
+    }
+    
+    /**
+     * Takes an amount of the stack with the key from the finder
+     *
+     * @return whether the amount was taken
+     */
+    public boolean takeStack(long key, int amount) {
+        int mapAmount = this.keyToAmountMap.get(key);
+        if (mapAmount >= amount) {
+            this.keyToAmountMap.put(key, mapAmount - amount);
+            return true;
+        } else {
+            return false;
+        }
+    }
+    
+    /**
+     * Returns a copy of the first stack added with the key, with a count of one.
+     *
+     * @param key the key of the stack
+     * @return the stack, or {@link ItemStack#EMPTY} if no stack with the key has been added
+     */
+    public ItemStack getStackFromKey(long key) {
+        ItemStack stack = this.keyToStackMap.get(key);
+        return stack == null ? ItemStack.EMPTY : stack.copy();
+    }
+    
+    /**
+     * Finds the maximum amount of crafts that can be made from the stacks of this finder.
+     * Stacks are matched by their {@link #getStackKey(ItemStack) keys}, and every ingredient is assigned to one key,
+     * solved as a bipartite matching where a key can supply as many ingredients as it has stacks for the amount of crafts.
+     * The amount of crafts is found by a binary search over the feasible matchings.
+     *
+     * @param ingredients  the accepted stacks of each ingredient, empty ingredients are skipped
+     * @param maxCrafts    the maximum amount of crafts to look for
+     * @param assignedKeys the list to fill with the key assigned to each ingredient, {@code 0} for empty ingredients,
+     *                     or {@code null}
+     * @return the amount of crafts, or {@code 0} if the ingredients cannot be matched
+     */
+    public int findMaxCrafts(List<List<ItemStack>> ingredients, int maxCrafts, @Nullable LongList assignedKeys) {
+        if (assignedKeys != null) {
+            assignedKeys.clear();
+        }
+        long[][] candidates = new long[ingredients.size()][];
+        int upperBound = maxCrafts;
+        for (int i = 0; i < candidates.length; i++) {
+            LongSet keys = new LongLinkedOpenHashSet();
+            int mostAvailable = 0;
+            boolean hasStacks = false;
+            for (ItemStack stack : ingredients.get(i)) {
+                if (stack.isEmpty()) continue;
+                hasStacks = true;
+                long key = getStackKey(stack);
+                int amount = this.keyToAmountMap.get(key);
+                if (amount > 0 && keys.add(key)) {
+                    mostAvailable = Math.max(mostAvailable, amount);
+                }
+            }
+            if (keys.isEmpty()) {
+                if (hasStacks) {
+                    return 0;
+                }
+            } else {
+                candidates[i] = keys.toLongArray();
+                upperBound = Math.min(upperBound, mostAvailable);
+            }
+        }
+        
+        int[] assignment = new int[candidates.length];
+        int crafts = 0;
+        int high = upperBound;
+        while (crafts < high) {
+            int mid = (int) (((long) crafts + high + 1) >>> 1);
+            if (new Matching(candidates, mid).solve(assignment)) {
+                crafts = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        
+        if (crafts > 0 && assignedKeys != null) {
+            Matching matching = new Matching(candidates, crafts);
+            matching.solve(assignment);
+            for (int i = 0; i < candidates.length; i++) {
+                assignedKeys.add(candidates[i] == null ? 0 : candidates[i][assignment[i]]);
+            }
+        }
+        return crafts;
+    }
+    
     public boolean contains(int itemId) {
         return this.idToAmountMap.get(itemId) > 0;
     }
@@ -107,6 +229,58 @@ public class RecipeFinder {
     
     public void clear() {
         this.idToAmountMap.clear();
+        this.keyToAmountMap.clear();
+        this.keyToStackMap.clear();
+    }
+    
+    /**
+     * Assigns every ingredient to one of its candidate keys, each key being able to supply
+     * {@code amount / crafts} ingredients, by augmenting paths.
+     */
+    private class Matching {
+        private final long[][] candidates;
+        private final int crafts;
+        private final Long2IntMap used = new Long2IntOpenHashMap();
+        private final LongSet visited = new LongOpenHashSet();
+        private int[] assignment;
+        
+        private Matching(long[][] candidates, int crafts) {
+            this.candidates = candidates;
+            this.crafts = crafts;
+        }
+        
+        private boolean solve(int[] assignment) {
+            this.assignment = assignment;
+            Arrays.fill(assignment, -1);
+            for (int i = 0; i < candidates.length; i++) {
+                if (candidates[i] == null) continue;
+                visited.clear();
+                if (!augment(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        
+        private boolean augment(int ingredient) {
+            for (int c = 0; c < candidates[ingredient].length; c++) {
+                long key = candidates[ingredient][c];
+                if (!visited.add(key)) continue;
+                if (used.get(key) < keyToAmountMap.get(key) / crafts) {
+                    used.put(key, used.get(key) + 1);
+                    assignment[ingredient] = c;
+                    return true;
+                }
+                // Try moving one of the ingredients using this key to another key
+                for (int other = 0; other < candidates.length; other++) {
+                    if (other != ingredient && assignment[other] >= 0 && candidates[other][assignment[other]] == key && augment(other)) {
+                        assignment[ingredient] = c;
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
     }
     
     class Filter {
@@ -35,6 +35,8 @@ import net.minecraft.nbt.CompoundTag;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.inventory.AbstractContainerMenu;
 import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.crafting.Recipe;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
 
@@ -88,4 +90,18 @@ public interface MenuInfo<T extends AbstractContainerMenu, D extends Display> {
     default D read(MenuSerializationContext<T, ?, D> context, CompoundTag tag) {
         return DisplaySerializerRegistry.getInstance().read(context.getCategoryIdentifier(), tag);
     }
+    
+    /**
+     * Creates the display from a recipe known by both the client and the server.
+     * When the display can be created from its recipe, only the recipe id is sent to the server,
+     * instead of the whole display from {@link #save(MenuSerializationContext, Display)}.
+     *
+     * @param context the serialization context
+     * @param recipe  the recipe of the display
+     * @return the display, or {@code null} if the display cannot be created from the recipe
+     */
+    @Nullable
+    default D read(MenuSerializationContext<T, ?, D> context, Recipe<?> recipe) {
+        return null;
+    }
 }
@@ -29,6 +29,7 @@ import com.google.common.collect.UnmodifiableIterator;
 import it.unimi.dsi.fastutil.ints.IntArrayList;
 import it.unimi.dsi.fastutil.ints.IntList;
 import me.shedaniel.rei.api.common.entry.EntryStack;
+import me.shedaniel.rei.impl.Internals;
 import net.minecraft.network.chat.Component;
 import net.minecraft.network.chat.TextComponent;
 import net.minecraft.util.Mth;
@@ -147,11 +148,11 @@ public class CollectionUtils {
     }
     
     public static <T, R> List<R> mapParallel(Collection<T> list, Function<T, R> function) {
-        return list.parallelStream().map(function).collect(Collectors.toList());
+        return Internals.getWorkerPool().submit(() -> list.parallelStream().map(function).collect(Collectors.toList())).join();
     }
     
     public static <T, R, C extends Collection<R>> C mapParallel(Collection<T> list, Function<T, R> function, Supplier<C> supplier) {
-        return list.parallelStream().map(function).collect(Collectors.toCollection(supplier));
+        return Internals.getWorkerPool().submit(() -> list.parallelStream().map(function).collect(Collectors.toCollection(supplier))).join();
     }
     
     public static <T, R> List<R> map(T[] list, Function<T, R> function) {
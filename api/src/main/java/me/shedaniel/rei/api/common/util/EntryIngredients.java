@@ -31,6 +31,7 @@ import me.shedaniel.rei.api.common.entry.EntryStack;
 import me.shedaniel.rei.api.common.entry.type.EntryDefinition;
 import me.shedaniel.rei.api.common.entry.type.EntryType;
 import me.shedaniel.rei.api.common.entry.type.VanillaEntryTypes;
+import me.shedaniel.rei.impl.Internals;
 import net.minecraft.nbt.ListTag;
 import net.minecraft.nbt.Tag;
 import net.minecraft.world.item.ItemStack;
@@ -134,6 +135,34 @@ public final class EntryIngredients {
         return ImmutableList.copyOf(result);
     }
     
+    /**
+     * Returns a shared instance of an ingredient equal to the given ingredient, sharing its stacks with
+     * equal stacks of other interned ingredients. Stacks are shared only when their serialized values are equal,
+     * including counts, amounts and tags. The shared stacks are immutable, copy them before changing their settings.
+     *
+     * @param ingredient the ingredient to intern
+     * @return the shared ingredient, or the given ingredient if it cannot be shared
+     */
+    public static EntryIngredient intern(EntryIngredient ingredient) {
+        return Internals.getEntryIngredientProvider().intern(ingredient);
+    }
+    
+    /**
+     * Interns every ingredient of the given list, used by displays to share their ingredients with other displays.
+     *
+     * @param ingredients the ingredients to intern
+     * @return an immutable list of the shared ingredients
+     * @see #intern(EntryIngredient)
+     */
+    public static List<EntryIngredient> intern(List<EntryIngredient> ingredients) {
+        if (ingredients.isEmpty()) return Collections.emptyList();
+        ImmutableList.Builder<EntryIngredient> result = ImmutableList.builder();
+        for (EntryIngredient ingredient : ingredients) {
+            result.add(intern(ingredient));
+        }
+        return result.build();
+    }
+    
     public static <T> boolean testFuzzy(EntryIngredient ingredient, EntryStack<T> stack) {
         for (EntryStack<?> ingredientStack : ingredient) {
             if (EntryStacks.equalsFuzzy(ingredientStack, stack)) {
@@ -38,6 +38,7 @@ import net.minecraft.util.Unit;
 import org.jetbrains.annotations.ApiStatus;
 
 import java.lang.reflect.Field;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.function.ToLongFunction;
@@ -51,6 +52,7 @@ public final class Internals {
     private static Supplier<PluginManager<REIServerPlugin>> serverPluginManager = Internals::throwNotSetup;
     private static Supplier<NbtHasherProvider> nbtHasherProvider = Internals::throwNotSetup;
     private static Function<ResourceLocation, CategoryIdentifier<?>> categoryIdentifier = (object) -> throwNotSetup();
+    private static Supplier<ForkJoinPool> workerPool = Internals::throwNotSetup;
     
     private static <T> T throwNotSetup() {
         throw new AssertionError("REI Internals have not been initialized!");
@@ -109,6 +111,10 @@ public final class Internals {
         return (CategoryIdentifier<T>) categoryIdentifier.apply(location);
     }
     
+    public static ForkJoinPool getWorkerPool() {
+        return workerPool.get();
+    }
+    
     public interface EntryStackProvider {
         EntryStack<Unit> empty();
         
@@ -127,6 +133,8 @@ public final class Internals {
         EntryIngredient.Builder builder();
         
         EntryIngredient.Builder builder(int initialCapacity);
+        
+        EntryIngredient intern(EntryIngredient ingredient);
     }
     
     public interface NbtHasherProvider {
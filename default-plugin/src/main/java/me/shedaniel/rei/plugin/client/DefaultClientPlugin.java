@@ -350,6 +350,12 @@ public class DefaultClientPlugin implements REIClientPlugin, BuiltinClientPlugin
         return -100;
     }
     
+    @Override
+    public boolean isConcurrent() {
+        // Displays are only registered through the display registry, reads of the entry registry see the building generation
+        return true;
+    }
+    
     public static class DummyShovelItem extends ShovelItem {
         public DummyShovelItem(Tier tier, float f, float g, Properties properties) {
             super(tier, f, g, properties);
@@ -34,7 +34,6 @@ import me.shedaniel.rei.api.client.gui.widgets.Widgets;
 import me.shedaniel.rei.api.client.registry.display.DisplayCategory;
 import me.shedaniel.rei.api.common.category.CategoryIdentifier;
 import me.shedaniel.rei.api.common.entry.EntryIngredient;
-import me.shedaniel.rei.api.common.entry.EntryStack;
 import me.shedaniel.rei.api.common.util.EntryStacks;
 import me.shedaniel.rei.plugin.common.BuiltinPlugin;
 import me.shedaniel.rei.plugin.common.displays.DefaultCompostingDisplay;
@@ -52,6 +51,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 
 @Environment(EnvType.CLIENT)
 public class DefaultCompostingCategory implements DisplayCategory<DefaultCompostingDisplay> {
@@ -97,11 +97,12 @@ public class DefaultCompostingCategory implements DisplayCategory<DefaultCompost
             for (int x = 0; x < 8; x++) {
                 EntryIngredient entryStack = stacks.size() > i ? stacks.get(i) : EntryIngredient.empty();
                 if (!entryStack.isEmpty()) {
-                    ComposterBlock.COMPOSTABLES.object2FloatEntrySet().stream().filter(entry -> entry.getKey() != null && Objects.equals(entry.getKey().asItem(), entryStack.get(0).getValue())).findAny().map(Map.Entry::getValue).ifPresent(chance -> {
-                        for (EntryStack<?> stack : entryStack) {
-                            stack.tooltip(new TranslatableComponent("text.rei.composting.chance", Mth.fastFloor(chance * 100)).withStyle(ChatFormatting.YELLOW));
-                        }
-                    });
+                    Object value = entryStack.get(0).getValue();
+                    Optional<Float> chance = ComposterBlock.COMPOSTABLES.object2FloatEntrySet().stream().filter(entry -> entry.getKey() != null && Objects.equals(entry.getKey().asItem(), value)).findAny().map(Map.Entry::getValue);
+                    if (chance.isPresent()) {
+                        // Ingredients are shared between displays, copy the stacks before adding the tooltip
+                        entryStack = entryStack.map(stack -> stack.copy().tooltip(new TranslatableComponent("text.rei.composting.chance", Mth.fastFloor(chance.get() * 100)).withStyle(ChatFormatting.YELLOW)));
+                    }
                 }
                 widgets.add(Widgets.createSlot(new Point(bounds.getCenterX() - 72 + x * 18, bounds.y + 3 + y * 18)).entries(entryStack).markInput());
                 i++;
@@ -32,6 +32,7 @@ import me.shedaniel.rei.api.common.fluid.FluidSupportProvider;
 import me.shedaniel.rei.api.common.plugins.REIServerPlugin;
 import me.shedaniel.rei.api.common.transfer.info.MenuInfoContext;
 import me.shedaniel.rei.api.common.transfer.info.MenuInfoRegistry;
+import me.shedaniel.rei.api.common.transfer.info.MenuSerializationContext;
 import me.shedaniel.rei.api.common.transfer.info.simple.RecipeBookGridMenuInfo;
 import me.shedaniel.rei.api.common.util.EntryStacks;
 import me.shedaniel.rei.plugin.common.displays.*;
@@ -44,6 +45,8 @@ import me.shedaniel.rei.plugin.common.displays.cooking.DefaultCookingDisplay;
 import me.shedaniel.rei.plugin.common.displays.cooking.DefaultSmeltingDisplay;
 import me.shedaniel.rei.plugin.common.displays.cooking.DefaultSmokingDisplay;
 import me.shedaniel.rei.plugin.common.displays.crafting.DefaultCraftingDisplay;
+import me.shedaniel.rei.plugin.common.displays.crafting.DefaultShapedDisplay;
+import me.shedaniel.rei.plugin.common.displays.crafting.DefaultShapelessDisplay;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.ListTag;
 import net.minecraft.nbt.Tag;
@@ -52,6 +55,13 @@ import net.minecraft.world.inventory.*;
 import net.minecraft.world.item.BucketItem;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.Items;
+import net.minecraft.world.item.crafting.BlastingRecipe;
+import net.minecraft.world.item.crafting.Recipe;
+import net.minecraft.world.item.crafting.ShapedRecipe;
+import net.minecraft.world.item.crafting.ShapelessRecipe;
+import net.minecraft.world.item.crafting.SmeltingRecipe;
+import net.minecraft.world.item.crafting.SmokingRecipe;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
 import java.util.function.Function;
@@ -113,16 +123,56 @@ public class DefaultPlugin implements BuiltinPlugin, REIServerPlugin {
             public List<List<ItemStack>> getDisplayInputs(MenuInfoContext<CraftingMenu, ?, DefaultCraftingDisplay> context) {
                 return context.getDisplay().getOrganisedInputEntries(this, context.getMenu());
             }
+            
+            @Override
+            @Nullable
+            public DefaultCraftingDisplay read(MenuSerializationContext<CraftingMenu, ?, DefaultCraftingDisplay> context, Recipe<?> recipe) {
+                return readCraftingDisplay(recipe);
+            }
         });
         registry.register(BuiltinPlugin.CRAFTING, InventoryMenu.class, new RecipeBookGridMenuInfo<InventoryMenu, DefaultCraftingDisplay>() {
             @Override
             public List<List<ItemStack>> getDisplayInputs(MenuInfoContext<InventoryMenu, ?, DefaultCraftingDisplay> context) {
                 return context.getDisplay().getOrganisedInputEntries(this, context.getMenu());
             }
+            
+            @Override
+            @Nullable
+            public DefaultCraftingDisplay read(MenuSerializationContext<InventoryMenu, ?, DefaultCraftingDisplay> context, Recipe<?> recipe) {
+                return readCraftingDisplay(recipe);
+            }
         });
-        registry.register(BuiltinPlugin.SMELTING, FurnaceMenu.class, new RecipeBookGridMenuInfo<>());
-        registry.register(BuiltinPlugin.SMOKING, SmokerMenu.class, new RecipeBookGridMenuInfo<>());
-        registry.register(BuiltinPlugin.BLASTING, BlastFurnaceMenu.class, new RecipeBookGridMenuInfo<>());
+        registry.register(BuiltinPlugin.SMELTING, FurnaceMenu.class, new RecipeBookGridMenuInfo<FurnaceMenu, DefaultSmeltingDisplay>() {
+            @Override
+            @Nullable
+            public DefaultSmeltingDisplay read(MenuSerializationContext<FurnaceMenu, ?, DefaultSmeltingDisplay> context, Recipe<?> recipe) {
+                return recipe instanceof SmeltingRecipe ? new DefaultSmeltingDisplay((SmeltingRecipe) recipe) : null;
+            }
+        });
+        registry.register(BuiltinPlugin.SMOKING, SmokerMenu.class, new RecipeBookGridMenuInfo<SmokerMenu, DefaultSmokingDisplay>() {
+            @Override
+            @Nullable
+            public DefaultSmokingDisplay read(MenuSerializationContext<SmokerMenu, ?, DefaultSmokingDisplay> context, Recipe<?> recipe) {
+                return recipe instanceof SmokingRecipe ? new DefaultSmokingDisplay((SmokingRecipe) recipe) : null;
+            }
+        });
+        registry.register(BuiltinPlugin.BLASTING, BlastFurnaceMenu.class, new RecipeBookGridMenuInfo<BlastFurnaceMenu, DefaultBlastingDisplay>() {
+            @Override
+            @Nullable
+            public DefaultBlastingDisplay read(MenuSerializationContext<BlastFurnaceMenu, ?, DefaultBlastingDisplay> context, Recipe<?> recipe) {
+                return recipe instanceof BlastingRecipe ? new DefaultBlastingDisplay((BlastingRecipe) recipe) : null;
+            }
+        });
+    }
+    
+    @Nullable
+    private static DefaultCraftingDisplay readCraftingDisplay(Recipe<?> recipe) {
+        if (recipe instanceof ShapedRecipe) {
+            return new DefaultShapedDisplay((ShapedRecipe) recipe);
+        } else if (recipe instanceof ShapelessRecipe) {
+            return new DefaultShapelessDisplay((ShapelessRecipe) recipe);
+        }
+        return null;
     }
     
     @Override
@@ -52,7 +52,7 @@ public class DefaultCampfireDisplay extends BasicDisplay {
     }
     
     public DefaultCampfireDisplay(List<EntryIngredient> inputs, List<EntryIngredient> outputs, Optional<ResourceLocation> location, double cookTime) {
-        super(inputs, outputs, location);
+        super(EntryIngredients.intern(inputs), EntryIngredients.intern(outputs), location);
         this.cookTime = cookTime;
     }
     
@@ -56,7 +56,7 @@ public class DefaultCompostingDisplay extends BasicDisplay {
     }
     
     public DefaultCompostingDisplay(List<EntryIngredient> inputs, List<EntryIngredient> outputs, int page) {
-        super(inputs, outputs);
+        super(EntryIngredients.intern(inputs), EntryIngredients.intern(outputs));
         this.page = page;
     }
     
@@ -26,6 +26,7 @@ package me.shedaniel.rei.plugin.common.displays;
 import me.shedaniel.rei.api.common.category.CategoryIdentifier;
 import me.shedaniel.rei.api.common.display.basic.BasicDisplay;
 import me.shedaniel.rei.api.common.entry.EntryIngredient;
+import me.shedaniel.rei.api.common.util.EntryIngredients;
 import me.shedaniel.rei.plugin.common.BuiltinPlugin;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
@@ -42,7 +43,7 @@ public class DefaultFuelDisplay extends BasicDisplay {
     }
     
     public DefaultFuelDisplay(List<EntryIngredient> inputs, List<EntryIngredient> outputs, int fuelTime) {
-        super(inputs, outputs);
+        super(EntryIngredients.intern(inputs), EntryIngredients.intern(outputs));
         this.fuelTime = fuelTime;
     }
     
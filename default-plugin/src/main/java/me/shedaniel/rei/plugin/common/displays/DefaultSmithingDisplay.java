@@ -52,7 +52,7 @@ public class DefaultSmithingDisplay extends BasicDisplay {
     }
     
     public DefaultSmithingDisplay(List<EntryIngredient> inputs, List<EntryIngredient> outputs, Optional<ResourceLocation> location) {
-        super(inputs, outputs, location);
+        super(EntryIngredients.intern(inputs), EntryIngredients.intern(outputs), location);
     }
     
     @Override
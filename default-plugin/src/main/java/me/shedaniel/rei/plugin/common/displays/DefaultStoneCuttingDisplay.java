@@ -45,7 +45,7 @@ public class DefaultStoneCuttingDisplay extends BasicDisplay {
     }
     
     public DefaultStoneCuttingDisplay(List<EntryIngredient> inputs, List<EntryIngredient> outputs, Optional<ResourceLocation> location) {
-        super(inputs, outputs, location);
+        super(EntryIngredients.intern(inputs), EntryIngredients.intern(outputs), location);
     }
     
     @Override
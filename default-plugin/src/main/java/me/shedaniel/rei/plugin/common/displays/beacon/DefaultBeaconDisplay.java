@@ -37,7 +37,7 @@ public abstract class DefaultBeaconDisplay extends BasicDisplay {
     }
     
     public DefaultBeaconDisplay(List<EntryIngredient> inputs, List<EntryIngredient> outputs) {
-        super(inputs, outputs);
+        super(EntryIngredients.intern(inputs), EntryIngredients.intern(outputs));
     }
     
     public EntryIngredient getEntries() {
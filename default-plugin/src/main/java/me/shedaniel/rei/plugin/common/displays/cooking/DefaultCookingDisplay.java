@@ -56,7 +56,7 @@ public abstract class DefaultCookingDisplay extends BasicDisplay implements Simp
     }
     
     public DefaultCookingDisplay(List<EntryIngredient> input, List<EntryIngredient> output, Recipe<?> recipe, float xp, double cookTime) {
-        super(input, output, Optional.ofNullable(recipe).map(Recipe::getId));
+        super(EntryIngredients.intern(input), EntryIngredients.intern(output), Optional.ofNullable(recipe).map(Recipe::getId));
         this.recipe = recipe;
         this.xp = xp;
         this.cookTime = cookTime;
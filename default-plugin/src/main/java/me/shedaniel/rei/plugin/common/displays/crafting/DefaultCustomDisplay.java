@@ -23,9 +23,9 @@
 
 package me.shedaniel.rei.plugin.common.displays.crafting;
 
-import com.google.common.collect.ImmutableList;
 import me.shedaniel.rei.api.common.entry.EntryIngredient;
 import me.shedaniel.rei.api.common.entry.EntryStack;
+import me.shedaniel.rei.api.common.util.EntryIngredients;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
 import net.minecraft.resources.ResourceLocation;
@@ -43,8 +43,8 @@ public class DefaultCustomDisplay extends DefaultCraftingDisplay {
     private int width, height;
     
     public DefaultCustomDisplay(Recipe<?> possibleRecipe, List<EntryIngredient> input, List<EntryIngredient> output) {
-        this.input = ImmutableList.copyOf(input);
-        this.output = output;
+        this.input = EntryIngredients.intern(input);
+        this.output = EntryIngredients.intern(output);
         this.possibleRecipe = possibleRecipe;
         BitSet row = new BitSet(3);
         BitSet column = new BitSet(3);
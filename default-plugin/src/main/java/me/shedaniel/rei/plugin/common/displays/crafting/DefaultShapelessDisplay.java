@@ -43,8 +43,8 @@ public class DefaultShapelessDisplay extends DefaultCraftingDisplay {
     
     public DefaultShapelessDisplay(ShapelessRecipe recipe) {
         this.display = recipe;
-        this.input = EntryIngredients.ofIngredients(recipe.getIngredients());
-        this.output = EntryIngredients.of(recipe.getResultItem());
+        this.input = EntryIngredients.intern(EntryIngredients.ofIngredients(recipe.getIngredients()));
+        this.output = EntryIngredients.intern(EntryIngredients.of(recipe.getResultItem()));
     }
     
     @Override
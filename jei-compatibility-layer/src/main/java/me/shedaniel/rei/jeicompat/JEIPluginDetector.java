@@ -287,6 +287,11 @@ public class JEIPluginDetector {
             this.backingPlugin = backingPlugin;
         }
         
+        @Override
+        public boolean dependsOnRecipes() {
+            return true;
+        }
+        
         @Override
         public void registerEntryTypes(EntryTypeRegistry registry) {
             backingPlugin.registerIngredients(new JEIModIngredientRegistration(this, registry));
@@ -46,7 +46,6 @@ import me.shedaniel.rei.api.client.registry.display.DisplayCategory;
 import me.shedaniel.rei.api.client.registry.display.DisplayRegistry;
 import me.shedaniel.rei.api.client.registry.entry.EntryRegistry;
 import me.shedaniel.rei.api.client.registry.screen.ClickArea;
-import me.shedaniel.rei.api.client.registry.screen.OverlayDecider;
 import me.shedaniel.rei.api.client.registry.screen.ScreenRegistry;
 import me.shedaniel.rei.api.common.category.CategoryIdentifier;
 import me.shedaniel.rei.api.common.entry.EntryStack;
@@ -60,6 +59,7 @@ import me.shedaniel.rei.api.common.plugins.PluginManager;
 import me.shedaniel.rei.api.common.plugins.PluginView;
 import me.shedaniel.rei.api.common.plugins.REIPlugin;
 import me.shedaniel.rei.api.common.plugins.REIServerPlugin;
+import me.shedaniel.rei.api.common.registry.RecipeManagerContext;
 import me.shedaniel.rei.api.common.transfer.info.MenuInfoRegistry;
 import me.shedaniel.rei.api.common.util.EntryStacks;
 import me.shedaniel.rei.impl.ClientInternals;
@@ -91,12 +91,17 @@ import me.shedaniel.rei.impl.common.entry.type.EntryTypeRegistryImpl;
 import me.shedaniel.rei.impl.common.entry.type.types.EmptyEntryDefinition;
 import me.shedaniel.rei.impl.common.fluid.FluidSupportProviderImpl;
 import me.shedaniel.rei.impl.common.plugins.PluginManagerImpl;
+import me.shedaniel.rei.impl.common.plugins.ReloadProfiler;
+import me.shedaniel.rei.impl.common.plugins.ReloadScheduler;
 import me.shedaniel.rei.impl.common.registry.RecipeManagerContextImpl;
+import me.shedaniel.rei.impl.common.registry.RecipeSnapshot;
 import me.shedaniel.rei.impl.common.transfer.MenuInfoRegistryImpl;
 import me.shedaniel.rei.impl.common.util.IssuesDetector;
+import me.shedaniel.rei.impl.common.util.WorkerPool;
 import me.shedaniel.rei.plugin.test.REITestPlugin;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
+import net.minecraft.Util;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.components.EditBox;
 import net.minecraft.client.gui.components.ImageButton;
@@ -118,7 +123,6 @@ import net.minecraft.world.inventory.Slot;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.Items;
 import net.minecraft.world.item.crafting.Ingredient;
-import org.apache.commons.lang3.mutable.MutableLong;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.jetbrains.annotations.ApiStatus;
@@ -127,8 +131,8 @@ import org.jetbrains.annotations.Nullable;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -140,7 +144,10 @@ import java.util.stream.Stream;
 @Environment(EnvType.CLIENT)
 public class RoughlyEnoughItemsCore {
     @ApiStatus.Internal public static final Logger LOGGER = LogManager.getFormatterLogger("REI");
-    private static final ExecutorService SYNC_RECIPES = Executors.newSingleThreadScheduledExecutor(r -> new Thread(r, "REI-SyncRecipes"));
+    private static final ReloadScheduler RELOAD_SCHEDULER = new ReloadScheduler(RoughlyEnoughItemsCore::_reloadPlugins);
+    private static final AtomicLong FULL_RELOAD_REQUESTS = new AtomicLong();
+    // Written by whichever thread the scheduler ran the last reload on
+    private static volatile long fullReloadsDone = -1;
     @ApiStatus.Experimental
     public static boolean isLeftMousePressed = false;
     
@@ -222,6 +229,7 @@ public class RoughlyEnoughItemsCore {
         }, Internals.EntryStackProvider.class);
         Internals.attachInstance(new NbtHasherProviderImpl(), Internals.NbtHasherProvider.class);
         Internals.attachInstance(EntryIngredientImpl.provide(), Internals.EntryIngredientProvider.class);
+        Internals.attachInstance((Supplier<ForkJoinPool>) WorkerPool::getPool, "workerPool");
         Internals.attachInstanceSupplier(new PluginManagerImpl<>(
                 REIPlugin.class,
                 UnaryOperator.identity(),
@@ -380,28 +388,63 @@ public class RoughlyEnoughItemsCore {
                 new SubsetsRegistryImpl(),
                 new TransferHandlerRegistryImpl(),
                 new REIHelperImpl()), "clientPluginManager");
+        ReloadProfiler.registerCounter("entries", () -> EntryRegistry.getInstance().size());
+        ReloadProfiler.registerCounter("displays", () -> DisplayRegistry.getInstance().displaySize());
     }
     
     @ApiStatus.Internal
-    public static void reloadPlugins(MutableLong lastReload) {
-        if (lastReload != null) {
-            if (lastReload.getValue() > 0 && System.currentTimeMillis() - lastReload.getValue() <= 5000) {
-                RoughlyEnoughItemsCore.LOGGER.warn("Suppressing Reload Plugins!");
-                return;
-            }
-            lastReload.setValue(System.currentTimeMillis());
-        }
-        if (ConfigObject.getInstance().doesRegisterRecipesInAnotherThread()) {
-            CompletableFuture.runAsync(RoughlyEnoughItemsCore::_reloadPlugins, SYNC_RECIPES);
-        } else {
-            _reloadPlugins();
-        }
+    public static ReloadScheduler getReloadScheduler() {
+        return RELOAD_SCHEDULER;
+    }
+    
+    @ApiStatus.Internal
+    public static CompletableFuture<Void> reloadPlugins() {
+        FULL_RELOAD_REQUESTS.incrementAndGet();
+        return RELOAD_SCHEDULER.request(ConfigObject.getInstance().doesRegisterRecipesInAnotherThread());
+    }
+    
+    /**
+     * Requests a reload after the recipes have been updated, only the displays of the changed recipes are re-filled
+     * unless a full reload has been requested, or a plugin depends on the recipes.
+     */
+    @ApiStatus.Internal
+    public static CompletableFuture<Void> reloadRecipes() {
+        return RELOAD_SCHEDULER.request(ConfigObject.getInstance().doesRegisterRecipesInAnotherThread());
     }
     
     private static void _reloadPlugins() {
+        long fullReloadRequest = FULL_RELOAD_REQUESTS.get();
+        if (fullReloadRequest == fullReloadsDone && _reloadRecipes()) {
+            return;
+        }
         for (PluginManager<? extends REIPlugin<?>> instance : PluginManager.getActiveInstances()) {
             instance.startReload();
         }
+        fullReloadsDone = fullReloadRequest;
+    }
+    
+    private static boolean _reloadRecipes() {
+        for (PluginManager<? extends REIPlugin<?>> instance : PluginManager.getActiveInstances()) {
+            for (REIPlugin<?> plugin : instance.getPlugins()) {
+                if (plugin.dependsOnRecipes()) {
+                    return false;
+                }
+            }
+        }
+        DisplayRegistryImpl displayRegistry = (DisplayRegistryImpl) DisplayRegistry.getInstance();
+        RecipeManagerContextImpl.RecipeDiff diff = displayRegistry.diffRecipes();
+        if (diff == null) {
+            return false;
+        }
+        long startTime = Util.getMillis();
+        RecipeManagerContext<?> recipeManagerContext = RecipeManagerContext.getInstance();
+        if (recipeManagerContext instanceof RecipeManagerContextImpl && recipeManagerContext != displayRegistry) {
+            ((RecipeManagerContextImpl<?>) recipeManagerContext).applyRecipeDiff(diff);
+        }
+        displayRegistry.applyRecipeDiff(diff);
+        RoughlyEnoughItemsCore.LOGGER.info("Reloaded %d added, %d changed and %d removed recipes with %d displays in %dms.",
+                diff.getAdded().size(), diff.getChanged().size(), diff.getRemoved().size(), displayRegistry.displaySize(), Util.getMillis() - startTime);
+        return true;
     }
     
     public void onInitialize() {
@@ -474,14 +517,9 @@ public class RoughlyEnoughItemsCore {
     @Environment(EnvType.CLIENT)
     private static boolean _shouldReturn(Screen screen) {
         try {
-            Class<? extends Screen> screenClass = screen.getClass();
-            for (OverlayDecider decider : ScreenRegistry.getInstance().getDeciders()) {
-                if (!decider.isHandingScreen(screen.getClass()))
-                    continue;
-                InteractionResult result = decider.shouldScreenBeOverlaid(screenClass);
-                if (result != InteractionResult.PASS) {
-                    return result == InteractionResult.FAIL || REIHelper.getInstance().getPreviousScreen() == null;
-                }
+            InteractionResult result = ((ScreenRegistryImpl) ScreenRegistry.getInstance()).shouldScreenBeOverlaid(screen);
+            if (result != InteractionResult.PASS) {
+                return result == InteractionResult.FAIL || REIHelper.getInstance().getPreviousScreen() == null;
             }
         } catch (ConcurrentModificationException ignored) {
         }
@@ -492,10 +530,16 @@ public class RoughlyEnoughItemsCore {
     private void registerClothEvents() {
         Minecraft client = Minecraft.getInstance();
         final ResourceLocation recipeButtonTex = new ResourceLocation("textures/gui/recipe_button.png");
-        MutableLong lastReload = new MutableLong(-1);
-        RecipeUpdateEvent.EVENT.register(recipeManager -> reloadPlugins(lastReload));
+        RecipeUpdateEvent.EVENT.register(recipeManager -> {
+            RecipeSnapshot.invalidate(recipeManager);
+            reloadRecipes();
+        });
         GuiEvent.INIT_POST.register((screen, widgets, children) -> {
             REIHelperImpl.getInstance().setPreviousScreen(screen);
+            if (screen instanceof AbstractContainerScreen) {
+                // Visibility predicates may depend on runtime state, such as the game mode, that changes between screens
+                DisplayRegistry.getInstance().invalidateVisibility();
+            }
             if (ConfigObject.getInstance().doesDisableRecipeBook() && screen instanceof AbstractContainerScreen) {
                 widgets.removeIf(widget -> widget instanceof ImageButton && ((ImageButton) widget).resourceLocation.equals(recipeButtonTex));
             }
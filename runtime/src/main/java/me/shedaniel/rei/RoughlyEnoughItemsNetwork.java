@@ -30,24 +30,28 @@ import me.shedaniel.rei.api.common.display.Display;
 import me.shedaniel.rei.impl.common.transfer.InputSlotCrafter;
 import net.minecraft.ChatFormatting;
 import net.minecraft.Util;
+import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.network.chat.TranslatableComponent;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.util.Mth;
-import net.minecraft.world.Container;
 import net.minecraft.world.entity.player.Inventory;
 import net.minecraft.world.inventory.AbstractContainerMenu;
-import net.minecraft.world.inventory.InventoryMenu;
 import net.minecraft.world.inventory.RecipeBookMenu;
 import net.minecraft.world.item.ItemStack;
 
+import java.util.function.Consumer;
+
 public class RoughlyEnoughItemsNetwork {
     public static final ResourceLocation DELETE_ITEMS_PACKET = new ResourceLocation("roughlyenoughitems", "delete_item");
     public static final ResourceLocation CREATE_ITEMS_PACKET = new ResourceLocation("roughlyenoughitems", "create_item");
     public static final ResourceLocation CREATE_ITEMS_GRAB_PACKET = new ResourceLocation("roughlyenoughitems", "create_item_grab");
     public static final ResourceLocation CREATE_ITEMS_MESSAGE_PACKET = new ResourceLocation("roughlyenoughitems", "ci_msg");
     public static final ResourceLocation MOVE_ITEMS_PACKET = new ResourceLocation("roughlyenoughitems", "move_items");
+    public static final ResourceLocation MOVE_ITEMS_NEW_PACKET = new ResourceLocation("roughlyenoughitems", "move_items_new");
+    public static final byte MOVE_ITEMS_DISPLAY = 0;
+    public static final byte MOVE_ITEMS_RECIPE = 1;
     public static final ResourceLocation NOT_ENOUGH_ITEMS_PACKET = new ResourceLocation("roughlyenoughitems", "og_not_enough");
     
     public static void onInitialize() {
@@ -97,35 +101,48 @@ public class RoughlyEnoughItemsNetwork {
         NetworkManager.registerReceiver(NetworkManager.c2s(), MOVE_ITEMS_PACKET, (packetByteBuf, context) -> {
             ServerPlayer player = (ServerPlayer) context.getPlayer();
             CategoryIdentifier<Display> category = CategoryIdentifier.of(packetByteBuf.readResourceLocation());
-            AbstractContainerMenu container = player.containerMenu;
-            InventoryMenu playerContainer = player.inventoryMenu;
-            try {
-                boolean shift = packetByteBuf.readBoolean();
-                try {
-                    InputSlotCrafter<AbstractContainerMenu, Container, Display> crafter = InputSlotCrafter.start(category, container, player, packetByteBuf.readNbt(), shift);
-                } catch (InputSlotCrafter.NotEnoughMaterialsException e) {
-                    if (!(container instanceof RecipeBookMenu)) {
-                        return;
-                    }
-                    // TODO Implement Ghost Recipes
-                    /*FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
-                    buf.writeInt(input.size());
-                    for (List<ItemStack> stacks : input) {
-                        buf.writeInt(stacks.size());
-                        for (ItemStack stack : stacks) {
-                            buf.writeItem(stack);
-                        }
-                    }
-                    NetworkManager.sendToPlayer(player, NOT_ENOUGH_ITEMS_PACKET, buf);*/
-                } catch (IllegalStateException e) {
-                    player.sendMessage(new TranslatableComponent(e.getMessage()).withStyle(ChatFormatting.RED), Util.NIL_UUID);
-                } catch (Exception e) {
-                    player.sendMessage(new TranslatableComponent("error.rei.internal.error", e.getMessage()).withStyle(ChatFormatting.RED), Util.NIL_UUID);
-                    e.printStackTrace();
-                }
-            } catch (Exception e) {
-                e.printStackTrace();
+            boolean shift = packetByteBuf.readBoolean();
+            CompoundTag display = packetByteBuf.readNbt();
+            moveItems(player, container -> InputSlotCrafter.start(category, container, player, display, shift));
+        });
+        NetworkManager.registerReceiver(NetworkManager.c2s(), MOVE_ITEMS_NEW_PACKET, (packetByteBuf, context) -> {
+            ServerPlayer player = (ServerPlayer) context.getPlayer();
+            CategoryIdentifier<Display> category = CategoryIdentifier.of(packetByteBuf.readResourceLocation());
+            boolean shift = packetByteBuf.readBoolean();
+            byte type = packetByteBuf.readByte();
+            if (type == MOVE_ITEMS_RECIPE) {
+                ResourceLocation recipeId = packetByteBuf.readResourceLocation();
+                moveItems(player, container -> InputSlotCrafter.start(category, container, player, recipeId, shift));
+            } else {
+                CompoundTag display = packetByteBuf.readNbt();
+                moveItems(player, container -> InputSlotCrafter.start(category, container, player, display, shift));
             }
         });
     }
+    
+    private static void moveItems(ServerPlayer player, Consumer<AbstractContainerMenu> crafter) {
+        AbstractContainerMenu container = player.containerMenu;
+        try {
+            crafter.accept(container);
+        } catch (InputSlotCrafter.NotEnoughMaterialsException e) {
+            if (!(container instanceof RecipeBookMenu)) {
+                return;
+            }
+            // TODO Implement Ghost Recipes
+            /*FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
+            buf.writeInt(input.size());
+            for (List<ItemStack> stacks : input) {
+                buf.writeInt(stacks.size());
+                for (ItemStack stack : stacks) {
+                    buf.writeItem(stack);
+                }
+            }
+            NetworkManager.sendToPlayer(player, NOT_ENOUGH_ITEMS_PACKET, buf);*/
+        } catch (IllegalStateException e) {
+            player.sendMessage(new TranslatableComponent(e.getMessage()).withStyle(ChatFormatting.RED), Util.NIL_UUID);
+        } catch (Exception e) {
+            player.sendMessage(new TranslatableComponent("error.rei.internal.error", e.getMessage()).withStyle(ChatFormatting.RED), Util.NIL_UUID);
+            e.printStackTrace();
+        }
+    }
 }
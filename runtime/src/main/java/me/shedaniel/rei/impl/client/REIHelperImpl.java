@@ -39,6 +39,7 @@ import me.shedaniel.rei.api.client.gui.widgets.TextField;
 import me.shedaniel.rei.api.client.gui.widgets.Tooltip;
 import me.shedaniel.rei.api.client.registry.screen.ScreenRegistry;
 import me.shedaniel.rei.impl.client.gui.ContainerScreenOverlay;
+import me.shedaniel.rei.impl.client.gui.modules.Menu;
 import me.shedaniel.rei.impl.client.gui.widget.search.OverlaySearchField;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
@@ -208,11 +209,13 @@ public class REIHelperImpl implements REIHelper {
     @Override
     public void startReload() {
         getOverlay().ifPresent(REIOverlay::queueReloadOverlay);
-        lastDisplayScreen.clear();
     }
     
     @Override
     public void endReload() {
+        // The previous screens show displays of the replaced generation, kept if the reload is aborted
+        lastDisplayScreen.clear();
+        Menu.invalidateSubsetsMenu();
         getOverlay().ifPresent(REIOverlay::queueReloadOverlay);
     }
     
@@ -54,6 +54,7 @@ import me.shedaniel.rei.api.client.config.ConfigManager;
 import me.shedaniel.rei.api.client.favorites.FavoriteEntry;
 import me.shedaniel.rei.api.client.gui.config.DisplayScreenType;
 import me.shedaniel.rei.api.client.gui.config.SyntaxHighlightingMode;
+import me.shedaniel.rei.api.client.registry.display.DisplayRegistry;
 import me.shedaniel.rei.api.client.registry.entry.EntryRegistry;
 import me.shedaniel.rei.api.common.entry.EntryStack;
 import me.shedaniel.rei.api.common.util.CollectionUtils;
@@ -63,6 +64,7 @@ import me.shedaniel.rei.impl.client.entry.filtering.FilteringRule;
 import me.shedaniel.rei.impl.client.entry.filtering.rules.ManualFilteringRule;
 import me.shedaniel.rei.impl.client.gui.ContainerScreenOverlay;
 import me.shedaniel.rei.impl.client.gui.credits.CreditsScreen;
+import me.shedaniel.rei.impl.client.gui.screen.ReloadProfilerScreen;
 import me.shedaniel.rei.impl.client.gui.screen.TransformingScreen;
 import me.shedaniel.rei.impl.client.gui.screen.WarningAndErrorScreen;
 import net.fabricmc.api.EnvType;
@@ -103,6 +105,7 @@ public class ConfigManagerImpl implements ConfigManager {
     private boolean craftableOnly = false;
     private final Gson gson = new GsonBuilder().create();
     private ConfigObjectImpl object;
+    private final FilteredStackIndex filteredStackIndex = new FilteredStackIndex(() -> getConfig().getFilteredStacks());
     
     public ConfigManagerImpl() {
         Jankson jankson = Jankson.builder().build();
@@ -276,6 +279,7 @@ public class ConfigManagerImpl implements ConfigManager {
             List<EntryStack<?>> normalizedFilteredStacks = CollectionUtils.map(getConfig().getFilteredStacks(), EntryStack::normalize);
             getConfig().getFilteredStacks().clear();
             getConfig().getFilteredStacks().addAll(normalizedFilteredStacks);
+            filteredStackIndex.invalidate();
         }
         if (getConfig().getFilteringRules().stream().noneMatch(filteringRule -> filteringRule instanceof ManualFilteringRule)) {
             getConfig().getFilteringRules().add(new ManualFilteringRule());
@@ -287,6 +291,10 @@ public class ConfigManagerImpl implements ConfigManager {
         AutoConfig.getConfigHolder(ConfigObjectImpl.class).save();
     }
     
+    public FilteredStackIndex getFilteredStackIndex() {
+        return filteredStackIndex;
+    }
+    
     @Override
     public ConfigObjectImpl getConfig() {
         if (object == null) {
@@ -349,9 +357,13 @@ public class ConfigManagerImpl implements ConfigManager {
                                 () -> 0,
                                 () -> Util.getMillis() - current.getValue() > 800));
                     }));
+                    ScreenHooks.addButton(screen, new Button(screen.width - 208, 4, 100, 20, new TranslatableComponent("text.rei.reload_profiler"), button -> {
+                        Minecraft.getInstance().setScreen(new ReloadProfilerScreen(screen));
+                    }));
                 }).setSavingRunnable(() -> {
                     saveConfig();
                     EntryRegistry.getInstance().refilter();
+                    DisplayRegistry.getInstance().invalidateVisibility();
                     if (REIHelperImpl.getSearchField() != null) {
                         ContainerScreenOverlay.getEntryListWidget().updateSearch(REIHelperImpl.getSearchField().getText(), true);
                     }
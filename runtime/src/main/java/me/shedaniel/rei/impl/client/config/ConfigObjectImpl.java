@@ -231,11 +231,21 @@ public class ConfigObjectImpl implements ConfigObject, ConfigData {
         return advanced.miscellaneous.newFastEntryRendering;
     }
     
+    @Override
+    public boolean doesCacheItemIcons() {
+        return advanced.miscellaneous.cachedItemIcons;
+    }
+    
     @Override
     public boolean doDebugRenderTimeRequired() {
         return advanced.layout.debugRenderTimeRequired;
     }
     
+    @Override
+    public boolean doDebugOverlayFrameTimeRequired() {
+        return advanced.layout.debugOverlayFrameTimeRequired;
+    }
+    
     @Override
     public ModifierKeyCode getFavoriteKeyCode() {
         return basics.keyBindings.favoriteKeybind == null ? ModifierKeyCode.unknown() : basics.keyBindings.favoriteKeybind;
@@ -507,6 +517,7 @@ public class ConfigObjectImpl implements ConfigObject, ConfigData {
             @Comment("Declares the maximum amount of recipes displayed in a page if possible.") @ConfigEntry.BoundedDiscrete(min = 2, max = 99)
             private int maxRecipesPerPage = 15;
             @Comment("Declares whether entry rendering time should be debugged.") private boolean debugRenderTimeRequired = false;
+            @Comment("Declares whether overlay frame time should be debugged.") private boolean debugOverlayFrameTimeRequired = false;
         }
         
         public static class Accessibility {
@@ -544,6 +555,7 @@ public class ConfigObjectImpl implements ConfigObject, ConfigData {
             @Comment("Declares whether arrows in containers should be clickable.") private boolean clickableRecipeArrows = true;
             private boolean registerRecipesInAnotherThread = true;
             private boolean newFastEntryRendering = true;
+            @Comment("Declares whether item icons should be rendered once into a texture atlas and drawn from it.") private boolean cachedItemIcons = false;
         }
         
         public static class Filtering {
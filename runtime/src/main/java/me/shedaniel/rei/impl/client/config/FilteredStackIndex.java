@@ -0,0 +1,197 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.impl.client.config;
+
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import it.unimi.dsi.fastutil.longs.LongSets;
+import me.shedaniel.rei.api.common.entry.EntryStack;
+import me.shedaniel.rei.api.common.util.EntryStacks;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.client.Minecraft;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * An exact hash index over the filtered stacks of the config, notifying its listeners of every change.
+ * Changes made to the config list without going through this index are picked up when the list is
+ * replaced or resized, or when {@link #invalidate()} is called.
+ * <p>
+ * Every access is synchronized on the index, since the reload thread reads it while the render thread edits it.
+ * Listeners are always notified on the client thread, as they update state read while rendering.
+ */
+@ApiStatus.Internal
+@Environment(EnvType.CLIENT)
+public class FilteredStackIndex {
+    private final Supplier<List<EntryStack<?>>> source;
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final LongSet hashes = new LongOpenHashSet();
+    // Immutable copy of the hashes of the current revision, shared with readers on other threads
+    private LongSet snapshot;
+    private List<EntryStack<?>> indexedList;
+    private int indexedSize = -1;
+    private long revision;
+    
+    public FilteredStackIndex(Supplier<List<EntryStack<?>>> source) {
+        this.source = source;
+    }
+    
+    /**
+     * Rebuilds the index if the config list has been replaced or resized since it was last indexed.
+     */
+    public synchronized void validate() {
+        List<EntryStack<?>> list = source.get();
+        if (list != indexedList || list.size() != indexedSize) {
+            hashes.clear();
+            for (EntryStack<?> stack : list) {
+                hashes.add(EntryStacks.hashExact(stack));
+            }
+            indexedList = list;
+            indexedSize = list.size();
+            revision++;
+            snapshot = null;
+            notifyListeners(listener -> listener.onReset(this));
+        }
+    }
+    
+    /**
+     * Notifies the listeners on the client thread, directly if already called from it.
+     */
+    private void notifyListeners(Consumer<Listener> action) {
+        Minecraft.getInstance().execute(() -> {
+            for (Listener listener : listeners) {
+                action.accept(listener);
+            }
+        });
+    }
+    
+    public synchronized void invalidate() {
+        indexedList = null;
+    }
+    
+    public synchronized boolean isFiltered(EntryStack<?> stack) {
+        validate();
+        return hashes.contains(EntryStacks.hashExact(stack));
+    }
+    
+    public synchronized boolean isFiltered(long hashExact) {
+        validate();
+        return hashes.contains(hashExact);
+    }
+    
+    /**
+     * Returns the exact hashes of the filtered stacks, the returned set is an immutable snapshot of the current revision.
+     *
+     * @return the exact hashes of the filtered stacks
+     */
+    public synchronized LongSet getHashes() {
+        validate();
+        if (snapshot == null) {
+            snapshot = LongSets.unmodifiable(new LongOpenHashSet(hashes));
+        }
+        return snapshot;
+    }
+    
+    /**
+     * Returns the revision of the filtered stacks, bumped every time the filtered stacks change.
+     *
+     * @return the revision of the filtered stacks
+     */
+    public synchronized long getRevision() {
+        validate();
+        return revision;
+    }
+    
+    public synchronized void filter(Collection<? extends EntryStack<?>> stacks) {
+        validate();
+        List<EntryStack<?>> list = indexedList;
+        LongSet added = new LongOpenHashSet();
+        for (EntryStack<?> stack : stacks) {
+            EntryStack<?> normalized = stack.normalize();
+            long hash = EntryStacks.hashExact(normalized);
+            if (hashes.add(hash)) {
+                list.add(normalized);
+                added.add(hash);
+            }
+        }
+        indexedSize = list.size();
+        if (!added.isEmpty()) {
+            revision++;
+            snapshot = null;
+            notifyListeners(listener -> listener.onChanged(added, true));
+        }
+    }
+    
+    public synchronized void unfilter(Collection<? extends EntryStack<?>> stacks) {
+        validate();
+        List<EntryStack<?>> list = indexedList;
+        LongSet removed = new LongOpenHashSet();
+        for (EntryStack<?> stack : stacks) {
+            long hash = EntryStacks.hashExact(stack);
+            if (hashes.remove(hash)) {
+                removed.add(hash);
+            }
+        }
+        if (!removed.isEmpty()) {
+            list.removeIf(stack -> removed.contains(EntryStacks.hashExact(stack)));
+            indexedSize = list.size();
+            revision++;
+            snapshot = null;
+            notifyListeners(listener -> listener.onChanged(removed, false));
+        }
+    }
+    
+    public synchronized void addListener(Listener listener) {
+        validate();
+        listeners.add(listener);
+        listener.onReset(this);
+    }
+    
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+    
+    public interface Listener {
+        /**
+         * Called when stacks are filtered or unfiltered through the index.
+         *
+         * @param hashes   the exact hashes of the stacks whose state has changed
+         * @param filtered whether the stacks are now filtered
+         */
+        void onChanged(LongSet hashes, boolean filtered);
+        
+        /**
+         * Called when the index has been rebuilt from the config list.
+         *
+         * @param index the index
+         */
+        void onReset(FilteredStackIndex index);
+    }
+}
@@ -27,6 +27,8 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import com.mojang.blaze3d.platform.Window;
 import com.mojang.blaze3d.vertex.PoseStack;
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
 import me.shedaniel.clothconfig2.api.AbstractConfigListEntry;
 import me.shedaniel.rei.api.common.entry.EntryStack;
 import me.shedaniel.rei.api.common.util.EntryStacks;
@@ -48,7 +50,8 @@ public class FilteringEntry extends AbstractConfigListEntry<List<EntryStack<?>>>
     Consumer<List<EntryStack<?>>> saveConsumer;
     Consumer<List<FilteringRule<?>>> rulesSaveConsumer;
     List<EntryStack<?>> defaultValue;
-    Set<EntryStack<?>> configFiltered;
+    Long2ObjectMap<EntryStack<?>> configFiltered;
+    long filteredRevision;
     List<FilteringRule<?>> rules;
     boolean edited = false;
     final FilteringScreen filteringScreen = new FilteringScreen(this);
@@ -62,8 +65,10 @@ public class FilteringEntry extends AbstractConfigListEntry<List<EntryStack<?>>>
     public FilteringEntry(int width, List<EntryStack<?>> configFiltered, List<FilteringRule<?>> rules, List<EntryStack<?>> defaultValue, Consumer<List<EntryStack<?>>> saveConsumer, Consumer<List<FilteringRule<?>>> rulesSaveConsumer) {
         super(NarratorChatListener.NO_TITLE, false);
         this.width = width;
-        this.configFiltered = new TreeSet<>(Comparator.comparing(EntryStacks::hashExact));
-        this.configFiltered.addAll(configFiltered);
+        this.configFiltered = new Long2ObjectLinkedOpenHashMap<>(configFiltered.size());
+        for (EntryStack<?> stack : configFiltered) {
+            this.configFiltered.putIfAbsent(EntryStacks.hashExact(stack), stack);
+        }
         this.rules = Lists.newArrayList(rules);
         this.defaultValue = defaultValue;
         this.saveConsumer = saveConsumer;
@@ -72,7 +77,51 @@ public class FilteringEntry extends AbstractConfigListEntry<List<EntryStack<?>>>
     
     @Override
     public List<EntryStack<?>> getValue() {
-        return Lists.newArrayList(configFiltered);
+        return Lists.newArrayList(configFiltered.values());
+    }
+    
+    public boolean isFiltered(EntryStack<?> stack) {
+        return configFiltered.containsKey(EntryStacks.hashExact(stack));
+    }
+    
+    /**
+     * Filters the stacks, bumping the revision once if any stack was not filtered yet.
+     *
+     * @param stacks the stacks to filter
+     * @return the number of stacks newly filtered
+     */
+    public int filter(Collection<? extends EntryStack<?>> stacks) {
+        int changed = 0;
+        for (EntryStack<?> stack : stacks) {
+            if (configFiltered.putIfAbsent(EntryStacks.hashExact(stack), stack) == null) {
+                changed++;
+            }
+        }
+        if (changed > 0) {
+            this.filteredRevision++;
+            this.edited = true;
+        }
+        return changed;
+    }
+    
+    /**
+     * Unfilters the stacks, bumping the revision once if any stack was filtered.
+     *
+     * @param stacks the stacks to unfilter
+     * @return the number of stacks unfiltered
+     */
+    public int unfilter(Collection<? extends EntryStack<?>> stacks) {
+        int changed = 0;
+        for (EntryStack<?> stack : stacks) {
+            if (configFiltered.remove(EntryStacks.hashExact(stack)) != null) {
+                changed++;
+            }
+        }
+        if (changed > 0) {
+            this.filteredRevision++;
+            this.edited = true;
+        }
+        return changed;
     }
     
     @Override
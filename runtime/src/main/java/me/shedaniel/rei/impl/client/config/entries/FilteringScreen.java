@@ -24,7 +24,6 @@
 package me.shedaniel.rei.impl.client.config.entries;
 
 import com.google.common.collect.Lists;
-import com.google.common.collect.Sets;
 import com.mojang.blaze3d.systems.RenderSystem;
 import com.mojang.blaze3d.vertex.BufferBuilder;
 import com.mojang.blaze3d.vertex.DefaultVertexFormat;
@@ -42,13 +41,12 @@ import me.shedaniel.rei.api.client.REIHelper;
 import me.shedaniel.rei.api.client.config.ConfigObject;
 import me.shedaniel.rei.api.client.gui.widgets.Tooltip;
 import me.shedaniel.rei.api.client.registry.entry.EntryRegistry;
-import me.shedaniel.rei.api.client.search.SearchFilter;
-import me.shedaniel.rei.api.client.search.SearchProvider;
 import me.shedaniel.rei.api.common.entry.EntryStack;
 import me.shedaniel.rei.impl.client.gui.ContainerScreenOverlay;
 import me.shedaniel.rei.impl.client.gui.widget.BatchEntryRendererManager;
 import me.shedaniel.rei.impl.client.gui.widget.EntryWidget;
 import me.shedaniel.rei.impl.client.gui.widget.search.OverlaySearchField;
+import me.shedaniel.rei.impl.client.search.AsyncSearchManager;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.components.Button;
 import net.minecraft.client.gui.components.events.GuiEventListener;
@@ -60,9 +58,11 @@ import net.minecraft.util.Mth;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Set;
+import java.util.stream.Collectors;
 
 import static me.shedaniel.rei.impl.client.gui.widget.EntryListWidget.entrySize;
 
@@ -89,8 +89,9 @@ public class FilteringScreen extends Screen {
     Screen parent;
     private FilteringEntry filteringEntry;
     private Tooltip tooltip = null;
-    private List<EntryStack> entryStacks = null;
+    private List<EntryStack<?>> entryStacks = null;
     private Rectangle innerBounds;
+    // Only the visible cells have a widget, widgets are bound to the stack at their index while rendering
     private List<EntryListEntry> entries = Collections.emptyList();
     private List<GuiEventListener> elements = Collections.emptyList();
     
@@ -103,9 +104,11 @@ public class FilteringScreen extends Screen {
     private Button hideButton;
     private Button showButton;
     private Button backButton;
-    private Rectangle selectionCache;
+    private Selection selectionCache = Selection.EMPTY;
     
-    private SearchFilter lastFilter = SearchFilter.matchAll();
+    private final AsyncSearchManager searchManager = new AsyncSearchManager(() -> EntryRegistry.getInstance().getEntryStacks().collect(Collectors.toList()),
+            () -> stack -> true, EntryStack::normalize);
+    private int searchId;
     
     public FilteringScreen(FilteringEntry filteringEntry) {
         super(new TranslatableComponent("config.roughlyenoughitems.filteringScreen"));
@@ -128,30 +131,13 @@ public class FilteringScreen extends Screen {
         {
             Component hideText = new TranslatableComponent("config.roughlyenoughitems.filteredEntries.hide");
             this.hideButton = new Button(0, 0, Minecraft.getInstance().font.width(hideText) + 10, 20, hideText, button -> {
-                for (int i = 0; i < entryStacks.size(); i++) {
-                    EntryStack stack = entryStacks.get(i);
-                    EntryListEntry entry = entries.get(i);
-                    entry.getBounds().y = (int) (entry.backupY - scrolling.scrollAmount);
-                    if (entry.isSelected() && !entry.isFiltered()) {
-                        filteringEntry.configFiltered.add(stack);
-                        filteringEntry.edited = true;
-                        entry.dirty = true;
-                    }
-                }
+                filteringEntry.filter(getSelectedStacks());
             });
         }
         {
             Component showText = new TranslatableComponent("config.roughlyenoughitems.filteredEntries.show");
             this.showButton = new Button(0, 0, Minecraft.getInstance().font.width(showText) + 10, 20, showText, button -> {
-                for (int i = 0; i < entryStacks.size(); i++) {
-                    EntryStack stack = entryStacks.get(i);
-                    EntryListEntry entry = entries.get(i);
-                    entry.getBounds().y = (int) (entry.backupY - scrolling.scrollAmount);
-                    if (entry.isSelected() && filteringEntry.configFiltered.remove(stack)) {
-                        filteringEntry.edited = true;
-                        entry.dirty = true;
-                    }
-                }
+                filteringEntry.unfilter(getSelectedStacks());
             });
         }
         {
@@ -164,6 +150,24 @@ public class FilteringScreen extends Screen {
         this.searchField.isMain = false;
     }
     
+    private List<EntryStack<?>> getSelectedStacks() {
+        updateSelectionCache();
+        Selection selection = getSelection();
+        int columns = getColumns();
+        List<EntryStack<?>> selectedStacks = new ArrayList<>();
+        for (int row = selection.minRow; row <= selection.maxRow; row++) {
+            int rowStart = row * columns;
+            for (int index = rowStart + selection.minColumn; index <= rowStart + selection.maxColumn && index < entryStacks.size(); index++) {
+                selectedStacks.add(entryStacks.get(index));
+            }
+        }
+        return selectedStacks;
+    }
+    
+    private int getColumns() {
+        return Math.max(1, innerBounds.width / entrySize());
+    }
+    
     private static Rectangle updateInnerBounds(Rectangle bounds) {
         int width = Math.max(Mth.floor((bounds.width - 2 - 6) / (float) entrySize()), 1);
         return new Rectangle((int) (bounds.getCenterX() - width * entrySize() / 2f), bounds.y + 5, width * entrySize(), bounds.height);
@@ -219,19 +223,22 @@ public class FilteringScreen extends Screen {
         ScissorsHandler.INSTANCE.scissor(bounds);
         for (EntryListEntry entry : entries)
             entry.clearStacks();
-        int skip = Math.max(0, Mth.floor(scrolling.scrollAmount / (float) entrySize()));
-        int nextIndex = skip * innerBounds.width / entrySize();
-        int i = nextIndex;
+        int entrySize = entrySize();
+        int columns = getColumns();
+        int skip = Math.max(0, Mth.floor(scrolling.scrollAmount / (float) entrySize));
         BatchEntryRendererManager manager = new BatchEntryRendererManager();
-        for (; i < entryStacks.size(); i++) {
-            EntryStack<?> stack = entryStacks.get(i);
-            EntryListEntry entry = entries.get(nextIndex);
-            entry.getBounds().y = (int) (entry.backupY - scrolling.scrollAmount);
+        for (int slot = 0; slot < entries.size(); slot++) {
+            int index = skip * columns + slot;
+            if (index >= entryStacks.size())
+                break;
+            EntryListEntry entry = entries.get(slot);
+            entry.index = index;
+            entry.getBounds().x = innerBounds.x + (index % columns) * entrySize;
+            entry.getBounds().y = (int) (innerBounds.y + (index / columns) * entrySize - scrolling.scrollAmount);
             if (entry.getBounds().y > bounds.getMaxY())
                 break;
-            entry.entry(stack);
+            entry.entry(entryStacks.get(index));
             manager.add(entry);
-            nextIndex++;
         }
         manager.render(matrices, mouseX, mouseY, delta);
         updatePosition(delta);
@@ -275,25 +282,27 @@ public class FilteringScreen extends Screen {
         this.font.drawShadow(matrices, this.title.getVisualOrderText(), this.width / 2.0F - this.font.width(this.title) / 2.0F, 12.0F, -1);
     }
     
-    private Rectangle getSelection() {
+    private Selection getSelection() {
         return selectionCache;
     }
     
     private void updateSelectionCache() {
-        if (selectionPoint != null) {
+        if (selectionPoint != null && innerBounds != null && !entryStacks.isEmpty()) {
             Point p = secondPoint;
             if (p == null) {
                 p = PointHelper.ofMouse();
                 p.translate(0, (int) scrolling.scrollAmount);
             }
-            int left = Math.min(p.x, selectionPoint.x);
-            int top = Math.min(p.y, selectionPoint.y);
-            int right = Math.max(p.x, selectionPoint.x);
-            int bottom = Math.max(p.y, selectionPoint.y);
-            selectionCache = new Rectangle(left, (int) (top - scrolling.scrollAmount), right - left, bottom - top);
+            int columns = getColumns();
+            int rows = (entryStacks.size() + columns - 1) / columns;
+            long left = Math.min(p.x, selectionPoint.x) - (long) innerBounds.x;
+            long top = Math.min(p.y, selectionPoint.y) - (long) innerBounds.y;
+            long right = Math.max(p.x, selectionPoint.x) - (long) innerBounds.x;
+            long bottom = Math.max(p.y, selectionPoint.y) - (long) innerBounds.y;
+            selectionCache = Selection.of(left, top, right, bottom, entrySize(), columns, rows);
             return;
         }
-        selectionCache = new Rectangle(0, 0, 0, 0);
+        selectionCache = Selection.EMPTY;
     }
     
     @Override
@@ -315,38 +324,35 @@ public class FilteringScreen extends Screen {
     }
     
     public void updateSearch(String searchTerm) {
-        lastFilter = SearchProvider.getInstance().createFilter(searchTerm);
-        Set<EntryStack<?>> list = Sets.newLinkedHashSet();
-        EntryRegistry.getInstance().getEntryStacks().parallel().filter(this::matches).map(EntryStack::normalize).forEachOrdered(list::add);
-        
-        entryStacks = Lists.newArrayList(list);
-        updateEntriesPosition();
-    }
-    
-    public boolean matches(EntryStack<?> stack) {
-        return lastFilter.test(stack);
+        if (entryStacks == null) {
+            entryStacks = Collections.emptyList();
+            updateEntriesPosition();
+        }
+        int searchId = ++this.searchId;
+        searchManager.updateFilter(searchTerm);
+        searchManager.getAsync()
+                .thenApply(stacks -> new ArrayList<>(new LinkedHashSet<>(stacks)))
+                .thenAcceptAsync(stacks -> {
+                    if (searchId == this.searchId) {
+                        entryStacks = stacks;
+                        updateEntriesPosition();
+                    }
+                }, Minecraft.getInstance());
     }
     
     public void updateEntriesPosition() {
         int entrySize = entrySize();
         this.innerBounds = updateInnerBounds(getBounds());
-        int width = innerBounds.width / entrySize;
+        int columns = getColumns();
         int pageHeight = innerBounds.height / entrySize;
-        int slotsToPrepare = Math.max(entryStacks.size() * 3, width * pageHeight * 3);
-        int currentX = 0;
-        int currentY = 0;
-        List<EntryListEntry> entries = Lists.newArrayList();
-        for (int i = 0; i < slotsToPrepare; i++) {
-            int xPos = currentX * entrySize + innerBounds.x;
-            int yPos = currentY * entrySize + innerBounds.y;
-            entries.add(new EntryListEntry(xPos, yPos, entrySize));
-            currentX++;
-            if (currentX >= width) {
-                currentX = 0;
-                currentY++;
+        int slotsToPrepare = Math.min(entryStacks.size(), columns * (pageHeight + 2));
+        if (entries.size() != slotsToPrepare || (!entries.isEmpty() && entries.get(0).getBounds().width != entrySize)) {
+            List<EntryListEntry> entries = Lists.newArrayListWithCapacity(slotsToPrepare);
+            for (int i = 0; i < slotsToPrepare; i++) {
+                entries.add(new EntryListEntry(innerBounds.x, innerBounds.y, entrySize));
             }
+            this.entries = entries;
         }
-        this.entries = entries;
         this.elements = Lists.newArrayList(entries);
         this.elements.add(searchField);
     }
@@ -448,13 +454,14 @@ public class FilteringScreen extends Screen {
     }
     
     private class EntryListEntry extends EntryWidget {
-        private int backupY;
+        private int index;
         private boolean filtered = false;
-        private boolean dirty = true;
+        private long filteredRevision = -1;
+        @Nullable
+        private EntryStack<?> filteredStack;
         
         private EntryListEntry(int x, int y, int entrySize) {
             super(new Point(x, y));
-            this.backupY = y;
             getBounds().width = getBounds().height = entrySize;
             interactableFavorites(false);
             interactable(false);
@@ -483,13 +490,15 @@ public class FilteringScreen extends Screen {
         }
         
         public boolean isSelected() {
-            return getSelection().intersects(getBounds());
+            return getSelection().contains(index, getColumns());
         }
         
         public boolean isFiltered() {
-            if (dirty) {
-                filtered = filteringEntry.configFiltered.contains(getCurrentEntry());
-                dirty = false;
+            EntryStack<?> stack = getCurrentEntry();
+            if (filteredRevision != filteringEntry.filteredRevision || filteredStack != stack) {
+                filtered = filteringEntry.isFiltered(stack);
+                filteredRevision = filteringEntry.filteredRevision;
+                filteredStack = stack;
             }
             return filtered;
         }
@@ -514,4 +523,43 @@ public class FilteringScreen extends Screen {
             }
         }
     }
+    
+    /**
+     * A rectangular selection of the grid, kept as inclusive row and column ranges.
+     */
+    private static class Selection {
+        private static final Selection EMPTY = new Selection(0, -1, 0, -1);
+        private final int minRow;
+        private final int maxRow;
+        private final int minColumn;
+        private final int maxColumn;
+        
+        private Selection(int minRow, int maxRow, int minColumn, int maxColumn) {
+            this.minRow = minRow;
+            this.maxRow = maxRow;
+            this.minColumn = minColumn;
+            this.maxColumn = maxColumn;
+        }
+        
+        /**
+         * Creates the selection of the cells intersecting the rectangle, relative to the top left corner of the grid.
+         */
+        private static Selection of(long left, long top, long right, long bottom, int entrySize, int columns, int rows) {
+            long minColumn = Math.floorDiv(left, entrySize);
+            long maxColumn = Math.floorDiv(right - 1, entrySize);
+            long minRow = Math.floorDiv(top, entrySize);
+            long maxRow = Math.floorDiv(bottom - 1, entrySize);
+            if (right <= left || bottom <= top || maxColumn < 0 || minColumn >= columns || maxRow < 0 || minRow >= rows) {
+                return EMPTY;
+            }
+            return new Selection((int) Math.max(0, minRow), (int) Math.min(rows - 1, maxRow),
+                    (int) Math.max(0, minColumn), (int) Math.min(columns - 1, maxColumn));
+        }
+        
+        private boolean contains(int index, int columns) {
+            int row = index / columns;
+            int column = index % columns;
+            return row >= minRow && row <= maxRow && column >= minColumn && column <= maxColumn;
+        }
+    }
 }
@@ -29,6 +29,7 @@ import com.google.common.collect.Sets;
 import me.shedaniel.rei.api.common.entry.EntryStack;
 import me.shedaniel.rei.api.common.util.CollectionUtils;
 import me.shedaniel.rei.impl.common.util.HashedEntryStackWrapper;
+import me.shedaniel.rei.impl.common.util.WorkerPool;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
 
@@ -85,15 +86,15 @@ public class FilteringContextImpl implements FilteringContext {
         completableFutures.add(CompletableFuture.runAsync(() -> {
             this.stacks.get(FilteringContextType.DEFAULT).removeAll(hiddenStacks);
             this.stacks.get(FilteringContextType.DEFAULT).removeAll(shownStacks);
-        }));
+        }, WorkerPool.getPool()));
         completableFutures.add(CompletableFuture.runAsync(() -> {
             this.stacks.get(FilteringContextType.SHOWN).removeAll(hiddenStacks);
             this.stacks.get(FilteringContextType.SHOWN).addAll(shownStacks);
-        }));
+        }, WorkerPool.getPool()));
         completableFutures.add(CompletableFuture.runAsync(() -> {
             this.stacks.get(FilteringContextType.HIDDEN).addAll(hiddenStacks);
             this.stacks.get(FilteringContextType.HIDDEN).removeAll(shownStacks);
-        }));
+        }, WorkerPool.getPool()));
         try {
             CompletableFuture.allOf(completableFutures.toArray(new CompletableFuture[0])).get(20, TimeUnit.SECONDS);
         } catch (InterruptedException | ExecutionException | TimeoutException e) {
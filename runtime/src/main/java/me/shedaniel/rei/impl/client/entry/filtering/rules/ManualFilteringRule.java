@@ -23,23 +23,25 @@
 
 package me.shedaniel.rei.impl.client.entry.filtering.rules;
 
-import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
 import it.unimi.dsi.fastutil.longs.LongSet;
-import me.shedaniel.rei.api.client.config.ConfigObject;
 import me.shedaniel.rei.api.common.entry.EntryStack;
-import me.shedaniel.rei.api.common.util.CollectionUtils;
 import me.shedaniel.rei.api.common.util.EntryStacks;
+import me.shedaniel.rei.impl.client.config.ConfigManagerImpl;
 import me.shedaniel.rei.impl.client.entry.filtering.AbstractFilteringRule;
 import me.shedaniel.rei.impl.client.entry.filtering.FilteringContext;
 import me.shedaniel.rei.impl.client.entry.filtering.FilteringResult;
+import me.shedaniel.rei.impl.common.util.WorkerPool;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.chat.Component;
 import net.minecraft.network.chat.TranslatableComponent;
 
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.stream.Collectors;
+import java.util.List;
 
 public class ManualFilteringRule extends AbstractFilteringRule<ManualFilteringRule> {
+    private static final WorkerPool.Workload WORKLOAD = new WorkerPool.Workload("manual-filtering-rule", 1024);
+    
     @Override
     public CompoundTag save(CompoundTag tag) {
         return tag;
@@ -53,14 +55,27 @@ public class ManualFilteringRule extends AbstractFilteringRule<ManualFilteringRu
     @Override
     public FilteringResult processFilteredStacks(FilteringContext context) {
         FilteringResult result = FilteringResult.create();
-        processList(context.getShownStacks(), result);
-        processList(context.getUnsetStacks(), result);
+        LongSet filteredHashes = getFilteredHashes();
+        if (!filteredHashes.isEmpty()) {
+            processList(context.getShownStacks(), filteredHashes, result);
+            processList(context.getUnsetStacks(), filteredHashes, result);
+        }
         return result;
     }
     
-    private void processList(Collection<EntryStack<?>> stacks, FilteringResult result) {
-        LongSet filteredStacks = CollectionUtils.mapParallel(ConfigObject.getInstance().getFilteredStacks(), EntryStacks::hashExact, LongOpenHashSet::new);
-        result.hide(stacks.parallelStream().filter(stack -> filteredStacks.contains(EntryStacks.hashExact(stack))).collect(Collectors.toList()));
+    /**
+     * Returns the exact hashes of the manually filtered stacks, the filtered stack index
+     * only copies them when its revision has changed.
+     *
+     * @return the exact hashes of the manually filtered stacks
+     */
+    public LongSet getFilteredHashes() {
+        return ConfigManagerImpl.getInstance().getFilteredStackIndex().getHashes();
+    }
+    
+    private void processList(Collection<EntryStack<?>> stacks, LongSet filteredHashes, FilteringResult result) {
+        List<EntryStack<?>> list = stacks instanceof List ? (List<EntryStack<?>>) stacks : new ArrayList<>(stacks);
+        result.hide(WorkerPool.filter(WORKLOAD, list, stack -> filteredHashes.contains(EntryStacks.hashExact(stack)), () -> false));
     }
     
     @Override
@@ -23,16 +23,15 @@
 
 package me.shedaniel.rei.impl.client.entry.filtering.rules;
 
-import com.google.common.collect.Lists;
 import me.shedaniel.rei.api.client.search.SearchFilter;
 import me.shedaniel.rei.api.client.search.SearchProvider;
 import me.shedaniel.rei.api.common.entry.EntryStack;
-import me.shedaniel.rei.api.common.util.CollectionUtils;
 import me.shedaniel.rei.impl.client.config.entries.FilteringEntry;
 import me.shedaniel.rei.impl.client.config.entries.FilteringRuleOptionsScreen;
 import me.shedaniel.rei.impl.client.entry.filtering.AbstractFilteringRule;
 import me.shedaniel.rei.impl.client.entry.filtering.FilteringContext;
 import me.shedaniel.rei.impl.client.entry.filtering.FilteringResult;
+import me.shedaniel.rei.impl.common.util.WorkerPool;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
 import net.minecraft.ChatFormatting;
@@ -41,18 +40,16 @@ import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.chat.Component;
 import net.minecraft.network.chat.TranslatableComponent;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 
 @Environment(EnvType.CLIENT)
 public class SearchFilteringRule extends AbstractFilteringRule<SearchFilteringRule> {
+    private static final WorkerPool.Workload WORKLOAD = new WorkerPool.Workload("search-filtering-rule", 100);
     private SearchFilter filter;
     private boolean show;
     
@@ -80,26 +77,10 @@ public class SearchFilteringRule extends AbstractFilteringRule<SearchFilteringRu
     
     @Override
     public FilteringResult processFilteredStacks(FilteringContext context) {
-        List<CompletableFuture<List<EntryStack<?>>>> completableFutures = Lists.newArrayList();
-        processList(context.getUnsetStacks(), completableFutures);
-        if (show) processList(context.getHiddenStacks(), completableFutures);
-        else processList(context.getShownStacks(), completableFutures);
-        try {
-            CompletableFuture.allOf(completableFutures.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
-        } catch (InterruptedException | ExecutionException | TimeoutException e) {
-            e.printStackTrace();
-        }
         FilteringResult result = FilteringResult.create();
-        for (CompletableFuture<List<EntryStack<?>>> future : completableFutures) {
-            List<EntryStack<?>> now = future.getNow(null);
-            if (now != null) {
-                if (show) {
-                    result.show(now);
-                } else {
-                    result.hide(now);
-                }
-            }
-        }
+        processList(context.getUnsetStacks(), result);
+        if (show) processList(context.getHiddenStacks(), result);
+        else processList(context.getShownStacks(), result);
         return result;
     }
     
@@ -108,17 +89,12 @@ public class SearchFilteringRule extends AbstractFilteringRule<SearchFilteringRu
         return new SearchFilteringRule(SearchFilter.matchAll(), true);
     }
     
-    private void processList(Collection<EntryStack<?>> stacks, List<CompletableFuture<List<EntryStack<?>>>> completableFutures) {
-        for (Iterable<EntryStack<?>> partitionStacks : CollectionUtils.partition((List<EntryStack<?>>) stacks, 100)) {
-            completableFutures.add(CompletableFuture.supplyAsync(() -> {
-                List<EntryStack<?>> output = Lists.newArrayList();
-                for (EntryStack<?> stack : partitionStacks) {
-                    if (filter.test(stack)) {
-                        output.add(stack);
-                    }
-                }
-                return output;
-            }));
+    private void processList(Collection<EntryStack<?>> stacks, FilteringResult result) {
+        List<EntryStack<?>> output = WorkerPool.filter(WORKLOAD, stacks instanceof List ? (List<EntryStack<?>>) stacks : new ArrayList<>(stacks), filter, () -> false);
+        if (show) {
+            result.show(output);
+        } else {
+            result.hide(output);
         }
     }
     
@@ -29,6 +29,7 @@ import com.google.common.collect.Maps;
 import me.shedaniel.rei.api.client.favorites.FavoriteEntry;
 import me.shedaniel.rei.api.client.favorites.FavoriteEntryType;
 import me.shedaniel.rei.api.client.plugins.REIClientPlugin;
+import me.shedaniel.rei.impl.common.registry.ReloadGeneration;
 import net.minecraft.network.chat.Component;
 import net.minecraft.resources.ResourceLocation;
 import org.jetbrains.annotations.ApiStatus;
@@ -41,8 +42,16 @@ import java.util.Map;
 
 @ApiStatus.Internal
 public class FavoriteEntryTypeRegistryImpl implements FavoriteEntryType.Registry {
-    private final BiMap<ResourceLocation, FavoriteEntryType<?>> registry = HashBiMap.create();
-    private final Map<Component, FavoriteEntryType.Section> sections = Maps.newLinkedHashMap();
+    private volatile Generation published = new Generation();
+    @Nullable
+    private volatile Generation building;
+    @Nullable
+    private volatile Thread reloadThread;
+    
+    private Generation generation() {
+        Generation building = this.building;
+        return building != null && !ReloadGeneration.readsPublished(reloadThread) ? building : published;
+    }
     
     @Override
     public void acceptPlugin(REIClientPlugin plugin) {
@@ -51,34 +60,52 @@ public class FavoriteEntryTypeRegistryImpl implements FavoriteEntryType.Registry
     
     @Override
     public void register(ResourceLocation id, FavoriteEntryType<?> type) {
-        this.registry.put(id, type);
+        generation().registry.put(id, type);
     }
     
     @Override
     public <A extends FavoriteEntry> @Nullable FavoriteEntryType<A> get(ResourceLocation id) {
-        return (FavoriteEntryType<A>) this.registry.get(id);
+        return (FavoriteEntryType<A>) generation().registry.get(id);
     }
     
     @Override
     @Nullable
     public ResourceLocation getId(FavoriteEntryType<?> type) {
-        return this.registry.inverse().get(type);
+        return generation().registry.inverse().get(type);
     }
     
     @Override
     public FavoriteEntryType.Section getOrCrateSection(Component text) {
-        return sections.computeIfAbsent(text, SectionImpl::new);
+        return generation().sections.computeIfAbsent(text, SectionImpl::new);
     }
     
     @Override
     public Iterable<FavoriteEntryType.Section> sections() {
-        return this.sections.values();
+        return generation().sections.values();
     }
     
     @Override
     public void startReload() {
-        this.registry.clear();
-        this.sections.clear();
+        this.building = new Generation();
+        this.reloadThread = Thread.currentThread();
+    }
+    
+    @Override
+    public void endReload() {
+        this.published = building;
+        this.building = null;
+        this.reloadThread = null;
+    }
+    
+    @Override
+    public void abortReload() {
+        this.building = null;
+        this.reloadThread = null;
+    }
+    
+    private static class Generation {
+        private final BiMap<ResourceLocation, FavoriteEntryType<?>> registry = HashBiMap.create();
+        private final Map<Component, FavoriteEntryType.Section> sections = Maps.newLinkedHashMap();
     }
     
     private static class SectionImpl implements FavoriteEntryType.Section {
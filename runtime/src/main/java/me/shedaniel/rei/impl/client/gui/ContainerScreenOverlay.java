@@ -501,16 +501,27 @@ public class ContainerScreenOverlay extends REIOverlay {
     
     @Override
     public void render(PoseStack matrices, int mouseX, int mouseY, float delta) {
+        long start = OverlayFrameTimings.start();
+        try {
+            renderOverlay(matrices, mouseX, mouseY, delta);
+        } finally {
+            OverlayFrameTimings.stop(OverlayFrameTimings.Section.OVERLAY, start);
+        }
+    }
+    
+    private void renderOverlay(PoseStack matrices, int mouseX, int mouseY, float delta) {
         if (shouldReload) {
             ENTRY_LIST_WIDGET.updateSearch(REIHelperImpl.getSearchField().getText(), true);
             init();
         } else {
+            long recalculateStart = OverlayFrameTimings.start();
             for (OverlayDecider decider : ScreenRegistry.getInstance().getDeciders(minecraft.screen)) {
                 if (decider != null && decider.shouldRecalculateArea(ConfigObject.getInstance().getDisplayPanelLocation(), bounds)) {
                     init();
                     break;
                 }
             }
+            OverlayFrameTimings.stop(OverlayFrameTimings.Section.RECALCULATE_AREA, recalculateStart);
         }
         if (ConfigManager.getInstance().isCraftableOnlyEnabled()) {
             Set<EntryStack<?>> currentStacks = ClientHelperImpl.getInstance()._getInventoryItemsTypes();
@@ -557,6 +568,17 @@ public class ContainerScreenOverlay extends REIOverlay {
     }
     
     public void lateRender(PoseStack matrices, int mouseX, int mouseY, float delta) {
+        long start = OverlayFrameTimings.start();
+        try {
+            lateRenderOverlay(matrices, mouseX, mouseY, delta);
+        } finally {
+            OverlayFrameTimings.stop(OverlayFrameTimings.Section.OVERLAY, start);
+        }
+        OverlayFrameTimings.renderHud(matrices, font, mouseX, mouseY);
+        OverlayFrameTimings.endFrame();
+    }
+    
+    private void lateRenderOverlay(PoseStack matrices, int mouseX, int mouseY, float delta) {
         if (REIHelper.getInstance().isOverlayVisible()) {
             REIHelperImpl.getSearchField().laterRender(matrices, mouseX, mouseY, delta);
             for (Widget widget : widgets) {
@@ -576,10 +598,12 @@ public class ContainerScreenOverlay extends REIOverlay {
         }
         Screen currentScreen = Minecraft.getInstance().screen;
         if (!(currentScreen instanceof DefaultDisplayViewingScreen) || !((DefaultDisplayViewingScreen) currentScreen).choosePageActivated) {
+            long tooltipsStart = OverlayFrameTimings.start();
             for (Tooltip tooltip : TOOLTIPS) {
                 if (tooltip != null)
                     renderTooltip(matrices, tooltip);
             }
+            OverlayFrameTimings.stop(OverlayFrameTimings.Section.TOOLTIPS, tooltipsStart);
         }
         TOOLTIPS.clear();
         if (REIHelper.getInstance().isOverlayVisible()) {
@@ -627,8 +651,15 @@ public class ContainerScreenOverlay extends REIOverlay {
             rightButton.setEnabled(ENTRY_LIST_WIDGET.getTotalPages() > 1);
         }
         for (Widget widget : widgets) {
-            if (!(widget instanceof LateRenderable))
+            if (!(widget instanceof LateRenderable)) {
+                long start = OverlayFrameTimings.start();
                 widget.render(matrices, mouseX, mouseY, delta);
+                if (widget == ENTRY_LIST_WIDGET) {
+                    OverlayFrameTimings.stop(OverlayFrameTimings.Section.ENTRY_LIST, start);
+                } else if (widget == favoritesListWidget) {
+                    OverlayFrameTimings.stop(OverlayFrameTimings.Section.FAVORITES, start);
+                }
+            }
         }
     }
     
@@ -727,6 +758,10 @@ public class ContainerScreenOverlay extends REIOverlay {
     
     @Override
     public boolean mouseClicked(double mouseX, double mouseY, int button) {
+        if (OverlayFrameTimings.isEnabled() && OverlayFrameTimings.getLogButtonBounds(font).contains(mouseX, mouseY)) {
+            OverlayFrameTimings.log();
+            return true;
+        }
         boolean visible = REIHelper.getInstance().isOverlayVisible();
         if (visible && configButton.mouseClicked(mouseX, mouseY, button)) {
             this.setFocused(configButton);
@@ -823,12 +858,17 @@ public class ContainerScreenOverlay extends REIOverlay {
     
     @Override
     public boolean isNotInExclusionZones(double mouseX, double mouseY) {
-        for (OverlayDecider decider : ScreenRegistry.getInstance().getDeciders(Minecraft.getInstance().screen)) {
-            InteractionResult in = decider.isInZone(mouseX, mouseY);
-            if (in != InteractionResult.PASS)
-                return in == InteractionResult.SUCCESS;
+        long start = OverlayFrameTimings.start();
+        try {
+            for (OverlayDecider decider : ScreenRegistry.getInstance().getDeciders(Minecraft.getInstance().screen)) {
+                InteractionResult in = decider.isInZone(mouseX, mouseY);
+                if (in != InteractionResult.PASS)
+                    return in == InteractionResult.SUCCESS;
+            }
+            return true;
+        } finally {
+            OverlayFrameTimings.stop(OverlayFrameTimings.Section.EXCLUSION_ZONES, start);
         }
-        return true;
     }
     
     public boolean isInside(Point point) {
@@ -0,0 +1,181 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.shedaniel.rei.impl.client.gui;
+
+import com.mojang.blaze3d.vertex.PoseStack;
+import me.shedaniel.math.Rectangle;
+import me.shedaniel.rei.RoughlyEnoughItemsCore;
+import me.shedaniel.rei.api.client.config.ConfigObject;
+import me.shedaniel.rei.impl.common.util.WorkerPool;
+import net.minecraft.client.gui.Font;
+import net.minecraft.client.gui.GuiComponent;
+import net.minecraft.network.chat.Component;
+import net.minecraft.network.chat.TranslatableComponent;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.Arrays;
+
+/**
+ * Measures the nanoseconds spent per frame in each section of the overlay pipeline, keeping a rolling window
+ * of the last {@link #FRAMES} frames for percentiles. The metrics of the {@link WorkerPool} are shown alongside.
+ * <p>
+ * Sections may be entered multiple times per frame, every call is accumulated into the current frame.
+ * Only accessed from the render thread.
+ */
+@ApiStatus.Internal
+public final class OverlayFrameTimings {
+    private static final int FRAMES = 240;
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+    private static final Section[] SECTIONS = Section.values();
+    private static final long[] CURRENT = new long[SECTIONS.length];
+    private static final long[][] HISTORY = new long[SECTIONS.length][FRAMES];
+    private static final long[] SORTED = new long[FRAMES];
+    // Percentiles of the window as of the last frame, refreshed once per frame by sorting each section once
+    private static final long[][] PERCENTILE_VALUES = new long[SECTIONS.length][PERCENTILES.length];
+    private static final String[] LINES = new String[SECTIONS.length];
+    private static String workerPoolLine = "";
+    private static final Component LOG_BUTTON = new TranslatableComponent("text.rei.frame_timings.log");
+    private static int frame = 0;
+    private static int recordedFrames = 0;
+    private static boolean enabled = false;
+    
+    private OverlayFrameTimings() {}
+    
+    public enum Section {
+        OVERLAY("Overlay"),
+        ENTRY_LIST("Entry List"),
+        FAVORITES("Favorites"),
+        TOOLTIPS("Tooltips"),
+        EXCLUSION_ZONES("Exclusion Zones"),
+        RECALCULATE_AREA("Recalculate Area"),
+        TRANSFER_BUTTONS("Transfer Buttons");
+        
+        private final String name;
+        
+        Section(String name) {
+            this.name = name;
+        }
+    }
+    
+    public static boolean isEnabled() {
+        return enabled;
+    }
+    
+    public static long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+    
+    public static void stop(Section section, long start) {
+        if (enabled && start != 0) {
+            CURRENT[section.ordinal()] += System.nanoTime() - start;
+        }
+    }
+    
+    public static void endFrame() {
+        if (enabled) {
+            for (int i = 0; i < SECTIONS.length; i++) {
+                HISTORY[i][frame] = CURRENT[i];
+            }
+            frame = (frame + 1) % FRAMES;
+            recordedFrames = Math.min(recordedFrames + 1, FRAMES);
+            updatePercentiles();
+            workerPoolLine = String.format("Worker Pool: queue %d, utilization %.0f%%, chunks %d done / %d cancelled",
+                    WorkerPool.getQueueDepth(), WorkerPool.getUtilization() * 100, WorkerPool.getCompletedChunks(), WorkerPool.getCancelledChunks());
+        }
+        Arrays.fill(CURRENT, 0);
+        boolean enabled = ConfigObject.getInstance().doDebugOverlayFrameTimeRequired();
+        if (OverlayFrameTimings.enabled != enabled) {
+            OverlayFrameTimings.enabled = enabled;
+            frame = 0;
+            recordedFrames = 0;
+            Arrays.fill(LINES, null);
+        }
+    }
+    
+    private static void updatePercentiles() {
+        for (int i = 0; i < SECTIONS.length; i++) {
+            System.arraycopy(HISTORY[i], 0, SORTED, 0, recordedFrames);
+            Arrays.sort(SORTED, 0, recordedFrames);
+            for (int j = 0; j < PERCENTILES.length; j++) {
+                PERCENTILE_VALUES[i][j] = SORTED[Math.min(recordedFrames - 1, (int) Math.floor(PERCENTILES[j] * recordedFrames))];
+            }
+            LINES[i] = null;
+        }
+    }
+    
+    public static long percentile(Section section, int percentileIndex) {
+        if (recordedFrames == 0) return 0;
+        return PERCENTILE_VALUES[section.ordinal()][percentileIndex];
+    }
+    
+    private static String formatLine(Section section) {
+        String line = LINES[section.ordinal()];
+        if (line == null) {
+            StringBuilder builder = new StringBuilder(section.name).append(':');
+            for (int i = 0; i < PERCENTILES.length; i++) {
+                builder.append(String.format(" p%d %.1fµs", Math.round(PERCENTILES[i] * 100), percentile(section, i) / 1000.0));
+            }
+            line = LINES[section.ordinal()] = builder.toString();
+        }
+        return line;
+    }
+    
+    public static Rectangle getHudBounds(Font font) {
+        int width = Math.max(font.width(LOG_BUTTON), font.width(workerPoolLine));
+        for (Section section : SECTIONS) {
+            width = Math.max(width, font.width(formatLine(section)));
+        }
+        return new Rectangle(2, 2, width + 4, (SECTIONS.length + 2) * (font.lineHeight + 1) + 3);
+    }
+    
+    public static Rectangle getLogButtonBounds(Font font) {
+        Rectangle bounds = getHudBounds(font);
+        return new Rectangle(bounds.x + 2, bounds.getMaxY() - font.lineHeight - 2, font.width(LOG_BUTTON), font.lineHeight);
+    }
+    
+    public static void renderHud(PoseStack matrices, Font font, int mouseX, int mouseY) {
+        if (!enabled) return;
+        Rectangle bounds = getHudBounds(font);
+        matrices.pushPose();
+        matrices.translate(0, 0, 600);
+        GuiComponent.fill(matrices, bounds.x, bounds.y, bounds.getMaxX(), bounds.getMaxY(), 0xC0000000);
+        int y = bounds.y + 2;
+        for (Section section : SECTIONS) {
+            font.draw(matrices, formatLine(section), bounds.x + 2, y, 0xFFFFFF);
+            y += font.lineHeight + 1;
+        }
+        font.draw(matrices, workerPoolLine, bounds.x + 2, y, 0xA0A0FF);
+        y += font.lineHeight + 1;
+        font.draw(matrices, LOG_BUTTON, bounds.x + 2, y, getLogButtonBounds(font).contains(mouseX, mouseY) ? 0xFFFFA0 : 0xA0A0A0);
+        matrices.popPose();
+    }
+    
+    public static void log() {
+        StringBuilder builder = new StringBuilder(String.format("Overlay frame times over the last %d frames:", recordedFrames));
+        for (Section section : SECTIONS) {
+            builder.append("\n  ").append(formatLine(section));
+        }
+        builder.append("\n  ").append(workerPoolLine);
+        RoughlyEnoughItemsCore.LOGGER.info("%s", builder);
+    }
+}
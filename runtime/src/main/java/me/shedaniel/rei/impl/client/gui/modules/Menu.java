@@ -24,9 +24,11 @@
 package me.shedaniel.rei.impl.client.gui.modules;
 
 import com.google.common.collect.Lists;
-import com.google.common.collect.Maps;
-import com.google.common.collect.Sets;
 import com.mojang.blaze3d.vertex.PoseStack;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongSet;
 import me.shedaniel.clothconfig2.ClothConfigInitializer;
 import me.shedaniel.clothconfig2.api.ScissorsHandler;
 import me.shedaniel.clothconfig2.api.ScrollingContainer;
@@ -38,8 +40,9 @@ import me.shedaniel.rei.api.client.gui.widgets.WidgetWithBounds;
 import me.shedaniel.rei.api.client.registry.entry.EntryRegistry;
 import me.shedaniel.rei.api.client.subsets.SubsetsRegistry;
 import me.shedaniel.rei.api.common.entry.EntryStack;
-import me.shedaniel.rei.api.common.util.CollectionUtils;
 import me.shedaniel.rei.api.common.util.EntryStacks;
+import me.shedaniel.rei.impl.client.config.ConfigManagerImpl;
+import me.shedaniel.rei.impl.client.config.FilteredStackIndex;
 import me.shedaniel.rei.impl.client.gui.modules.entries.EntryStackSubsetsMenuEntry;
 import me.shedaniel.rei.impl.client.gui.modules.entries.SubSubsetsMenuEntry;
 import me.shedaniel.rei.impl.client.gui.widget.LateRenderable;
@@ -60,6 +63,9 @@ public class Menu extends WidgetWithBounds implements LateRenderable {
     public static final UUID WEATHER = UUID.randomUUID();
     public static final UUID GAME_TYPE = UUID.randomUUID();
     
+    private static volatile SubsetsTree cachedSubsetsTree;
+    private static int cachedSubsetsEntryCount = -1;
+    
     public final Point menuStartPoint;
     private final List<MenuEntry> entries = Lists.newArrayList();
     public final ScrollingContainer scrolling = new ScrollingContainer() {
@@ -90,18 +96,39 @@ public class Menu extends WidgetWithBounds implements LateRenderable {
     
     public static Menu createSubsetsMenuFromRegistry(Point menuStartPoint) {
         EntryRegistry instance = EntryRegistry.getInstance();
+        SubsetsTree tree = cachedSubsetsTree;
+        if (tree == null || cachedSubsetsEntryCount != instance.size()) {
+            invalidateSubsetsMenu();
+            cachedSubsetsEntryCount = instance.size();
+            cachedSubsetsTree = tree = new SubsetsTree(buildSubsetsTree(instance));
+            // Keeps the filtered counters of every node up to date as stacks are filtered
+            ConfigManagerImpl.getInstance().getFilteredStackIndex().addListener(tree);
+        }
+        return new Menu(menuStartPoint, buildEntries(tree.root));
+    }
+    
+    /**
+     * Invalidates the cached subsets tree, the tree is rebuilt the next time the subsets menu opens.
+     */
+    public static void invalidateSubsetsMenu() {
+        SubsetsTree tree = cachedSubsetsTree;
+        if (tree != null) {
+            ConfigManagerImpl.getInstance().getFilteredStackIndex().removeListener(tree);
+        }
+        cachedSubsetsTree = null;
+    }
+    
+    private static SubsetsMenuNode buildSubsetsTree(EntryRegistry instance) {
         List<? extends EntryStack<?>> stacks = instance.getEntryStacks().collect(Collectors.toList());
-        Map<String, Object> entries = Maps.newHashMap();
+        SubsetsMenuNode root = new SubsetsMenuNode();
         {
             // All Entries group
-            Map<String, Object> allEntries = getOrCreateSubEntryInMap(entries, "roughlyenoughitems:all_entries");
-            for (EntryStack<?> stack : stacks) {
-                putEntryInMap(allEntries, stack);
-            }
+            SubsetsMenuNode allEntries = root.getOrCreateChild("roughlyenoughitems:all_entries");
+            allEntries.items.addAll(stacks);
         }
         {
             // Item Groups group
-            Map<String, Object> itemGroups = getOrCreateSubEntryInMap(entries, "roughlyenoughitems:item_groups");
+            SubsetsMenuNode itemGroups = root.getOrCreateChild("roughlyenoughitems:item_groups");
             for (Item item : Registry.ITEM) {
                 CreativeModeTab group = item.getItemCategory();
                 if (group == null)
@@ -109,9 +136,9 @@ public class Menu extends WidgetWithBounds implements LateRenderable {
                 List<ItemStack> list;
                 try {
                     list = instance.appendStacksForItem(item);
-                    Map<String, Object> groupMenu = getOrCreateSubEntryInMap(itemGroups, "_item_group_" + group.langId);
+                    SubsetsMenuNode groupMenu = itemGroups.getOrCreateChild("_item_group_" + group.langId);
                     for (ItemStack stack : list) {
-                        putEntryInMap(groupMenu, EntryStacks.of(stack));
+                        groupMenu.items.add(EntryStacks.of(stack));
                     }
                 } catch (Exception e) {
                     e.printStackTrace();
@@ -119,63 +146,101 @@ public class Menu extends WidgetWithBounds implements LateRenderable {
             }
         }
         Set<String> paths = SubsetsRegistry.getInstance().getPaths();
-        for (String path : paths) {
-            Map<String, Object> lastMap = entries;
-            String[] pathSegments = path.split("/");
-            for (String pathSegment : pathSegments) {
-                lastMap = getOrCreateSubEntryInMap(lastMap, pathSegment);
+        if (!paths.isEmpty()) {
+            Long2ObjectMap<EntryStack<?>> stacksByHash = new Long2ObjectOpenHashMap<>(stacks.size());
+            for (EntryStack<?> stack : stacks) {
+                stacksByHash.putIfAbsent(EntryStacks.hashExact(stack), stack);
             }
-            for (EntryStack<?> entry : SubsetsRegistry.getInstance().getPathEntries(path)) {
-                EntryStack<?> firstStack = CollectionUtils.findFirstOrNullEqualsExact(stacks, entry);
-                if (firstStack != null) {
-                    putEntryInMap(lastMap, firstStack);
+            for (String path : paths) {
+                SubsetsMenuNode lastNode = root;
+                String[] pathSegments = path.split("/");
+                for (String pathSegment : pathSegments) {
+                    lastNode = lastNode.getOrCreateChild(pathSegment);
+                }
+                for (EntryStack<?> entry : SubsetsRegistry.getInstance().getPathEntries(path)) {
+                    EntryStack<?> firstStack = stacksByHash.get(EntryStacks.hashExact(entry));
+                    if (firstStack != null && EntryStacks.equalsExact(firstStack, entry)) {
+                        lastNode.items.add(firstStack);
+                    }
                 }
             }
         }
-        return new Menu(menuStartPoint, buildEntries(entries));
+        return root;
     }
     
-    private static Map<String, Object> getOrCreateSubEntryInMap(Map<String, Object> parent, String pathSegment) {
-        putEntryInMap(parent, pathSegment);
-        return (Map<String, Object>) parent.get(pathSegment);
-    }
-    
-    private static void putEntryInMap(Map<String, Object> parent, String pathSegment) {
-        if (!parent.containsKey(pathSegment)) {
-            parent.put(pathSegment, Maps.newHashMap());
+    private static List<MenuEntry> buildEntries(SubsetsMenuNode node) {
+        List<MenuEntry> entries = Lists.newArrayList();
+        for (Map.Entry<String, SubsetsMenuNode> entry : node.children.entrySet()) {
+            SubsetsMenuNode child = entry.getValue();
+            String text;
+            if (entry.getKey().startsWith("_item_group_")) {
+                text = I18n.get(entry.getKey().replace("_item_group_", "itemGroup."));
+            } else {
+                String translationKey = "subsets.rei." + entry.getKey().replace(':', '.');
+                if (!I18n.exists(translationKey))
+                    RoughlyEnoughItemsCore.LOGGER.warn("Subsets menu " + translationKey + " does not have a translation");
+                text = I18n.get(translationKey);
+            }
+            // Child menus are only built once they are expanded
+            entries.add(new SubSubsetsMenuEntry(text, child, () -> buildEntries(child)));
         }
-    }
-    
-    private static void putEntryInMap(Map<String, Object> parent, EntryStack<?> stack) {
-        Set<EntryStack<?>> items = (Set<EntryStack<?>>) parent.get("items");
-        if (items == null) {
-            items = Sets.newLinkedHashSet();
-            parent.put("items", items);
+        for (EntryStack<?> item : node.items) {
+            entries.add(new EntryStackSubsetsMenuEntry(item));
         }
-        items.add(stack);
+        return entries;
     }
     
-    private static List<MenuEntry> buildEntries(Map<String, Object> map) {
-        List<MenuEntry> entries = Lists.newArrayList();
-        for (Map.Entry<String, Object> entry : map.entrySet()) {
-            if (entry.getKey().equals("items")) {
-                Set<EntryStack<?>> items = (Set<EntryStack<?>>) entry.getValue();
-                for (EntryStack<?> item : items) {
-                    entries.add(new EntryStackSubsetsMenuEntry(item));
+    private static class SubsetsTree implements FilteredStackIndex.Listener {
+        private final SubsetsMenuNode root;
+        private final Long2ObjectMap<List<SubsetsMenuNode>> nodesByHash = new Long2ObjectOpenHashMap<>();
+        
+        private SubsetsTree(SubsetsMenuNode root) {
+            this.root = root;
+            indexNodes(root, new ArrayList<>());
+        }
+        
+        private void indexNodes(SubsetsMenuNode node, List<SubsetsMenuNode> path) {
+            path.add(node);
+            for (EntryStack<?> stack : node.items) {
+                nodesByHash.computeIfAbsent(EntryStacks.hashExact(stack), hash -> new ArrayList<>()).addAll(path);
+            }
+            for (SubsetsMenuNode child : node.children.values()) {
+                indexNodes(child, path);
+            }
+            path.remove(path.size() - 1);
+        }
+        
+        @Override
+        public void onChanged(LongSet hashes, boolean filtered) {
+            LongIterator iterator = hashes.iterator();
+            while (iterator.hasNext()) {
+                List<SubsetsMenuNode> nodes = nodesByHash.get(iterator.nextLong());
+                if (nodes != null) {
+                    for (SubsetsMenuNode node : nodes) {
+                        node.filteredCount += filtered ? 1 : -1;
+                    }
                 }
-            } else {
-                Map<String, Object> entryMap = (Map<String, Object>) entry.getValue();
-                if (entry.getKey().startsWith("_item_group_")) {
-                    entries.add(new SubSubsetsMenuEntry(I18n.get(entry.getKey().replace("_item_group_", "itemGroup.")), buildEntries(entryMap)));
-                } else {
-                    String translationKey = "subsets.rei." + entry.getKey().replace(':', '.');
-                    if (!I18n.exists(translationKey))
-                        RoughlyEnoughItemsCore.LOGGER.warn("Subsets menu " + translationKey + " does not have a translation");
-                    entries.add(new SubSubsetsMenuEntry(I18n.get(translationKey), buildEntries(entryMap)));
+            }
+        }
+        
+        @Override
+        public void onReset(FilteredStackIndex index) {
+            resetCounts(root);
+            for (Long2ObjectMap.Entry<List<SubsetsMenuNode>> entry : nodesByHash.long2ObjectEntrySet()) {
+                if (index.isFiltered(entry.getLongKey())) {
+                    for (SubsetsMenuNode node : entry.getValue()) {
+                        node.filteredCount++;
+                    }
                 }
             }
         }
-        return entries;
+        
+        private static void resetCounts(SubsetsMenuNode node) {
+            node.filteredCount = 0;
+            for (SubsetsMenuNode child : node.children.values()) {
+                resetCounts(child);
+            }
+        }
     }
     
     @SuppressWarnings("deprecation")
@@ -0,0 +1,77 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.impl.client.gui.modules;
+
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import me.shedaniel.rei.api.common.entry.EntryStack;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@ApiStatus.Experimental
+@ApiStatus.Internal
+public class SubsetsMenuNode {
+    final Map<String, SubsetsMenuNode> children = Maps.newHashMap();
+    final Set<EntryStack<?>> items = Sets.newLinkedHashSet();
+    private List<EntryStack<?>> allStacks;
+    int filteredCount;
+    
+    SubsetsMenuNode getOrCreateChild(String pathSegment) {
+        return children.computeIfAbsent(pathSegment, segment -> new SubsetsMenuNode());
+    }
+    
+    /**
+     * Returns every stack under this node, including the stacks of nested nodes.
+     *
+     * @return every stack under this node
+     */
+    public List<EntryStack<?>> getAllStacks() {
+        if (allStacks == null) {
+            List<EntryStack<?>> allStacks = new ArrayList<>(items);
+            for (SubsetsMenuNode child : children.values()) {
+                allStacks.addAll(child.getAllStacks());
+            }
+            this.allStacks = allStacks;
+        }
+        return allStacks;
+    }
+    
+    /**
+     * Returns the number of filtered stacks under this node, kept up to date incrementally
+     * while the subsets tree is listening to the filtered stacks.
+     *
+     * @return the number of filtered stacks under this node
+     */
+    public int getFilteredCount() {
+        return filteredCount;
+    }
+    
+    public int getTotalCount() {
+        return getAllStacks().size();
+    }
+}
@@ -29,12 +29,12 @@ import me.shedaniel.math.Rectangle;
 import me.shedaniel.rei.RoughlyEnoughItemsCore;
 import me.shedaniel.rei.api.client.REIHelper;
 import me.shedaniel.rei.api.client.config.ConfigManager;
-import me.shedaniel.rei.api.client.config.ConfigObject;
 import me.shedaniel.rei.api.client.registry.entry.EntryRegistry;
 import me.shedaniel.rei.api.common.entry.EntryStack;
-import me.shedaniel.rei.api.common.util.CollectionUtils;
 import me.shedaniel.rei.api.common.util.EntryStacks;
 import me.shedaniel.rei.impl.client.REIHelperImpl;
+import me.shedaniel.rei.impl.client.config.ConfigManagerImpl;
+import me.shedaniel.rei.impl.client.config.FilteredStackIndex;
 import me.shedaniel.rei.impl.client.gui.ContainerScreenOverlay;
 import me.shedaniel.rei.impl.client.gui.modules.Menu;
 import me.shedaniel.rei.impl.client.gui.modules.MenuEntry;
@@ -96,11 +96,11 @@ public class EntryStackSubsetsMenuEntry extends MenuEntry {
                 clickedLast = true;
                 if (!getParent().scrolling.draggingScrollBar) {
                     minecraft.getSoundManager().play(SimpleSoundInstance.forUI(SoundEvents.UI_BUTTON_CLICK, 1.0F));
-                    List<EntryStack<?>> filteredStacks = ConfigObject.getInstance().getFilteredStacks();
+                    FilteredStackIndex index = ConfigManagerImpl.getInstance().getFilteredStackIndex();
                     if (isFiltered()) {
-                        filteredStacks.removeIf(next -> EntryStacks.equalsExact(next, stack));
+                        index.unfilter(Collections.<EntryStack<?>>singletonList(stack));
                     } else {
-                        filteredStacks.add(stack.normalize());
+                        index.filter(Collections.<EntryStack<?>>singletonList(stack));
                     }
                     Menu menu = ((ContainerScreenOverlay) REIHelper.getInstance().getOverlay().get()).getOverlayMenu();
                     if (menu != null)
@@ -118,14 +118,28 @@ public class EntryStackSubsetsMenuEntry extends MenuEntry {
     
     void recalculateFilter(Menu menu) {
         for (MenuEntry child : menu.children()) {
-            if (child instanceof SubSubsetsMenuEntry && ((SubSubsetsMenuEntry) child).getSubsetsMenu() != null) {
-                recalculateFilter(((SubSubsetsMenuEntry) child).getSubsetsMenu());
+            if (child instanceof SubSubsetsMenuEntry) {
+                Menu subsetsMenu = ((SubSubsetsMenuEntry) child).getBuiltSubsetsMenu();
+                if (subsetsMenu != null)
+                    recalculateFilter(subsetsMenu);
             } else if (child instanceof EntryStackSubsetsMenuEntry && EntryStacks.equalsExact(((EntryStackSubsetsMenuEntry) child).stack, stack)) {
                 ((EntryStackSubsetsMenuEntry) child).isFiltered = null;
             }
         }
     }
     
+    static void invalidateFilter(Menu menu) {
+        for (MenuEntry child : menu.children()) {
+            if (child instanceof SubSubsetsMenuEntry) {
+                Menu subsetsMenu = ((SubSubsetsMenuEntry) child).getBuiltSubsetsMenu();
+                if (subsetsMenu != null)
+                    invalidateFilter(subsetsMenu);
+            } else if (child instanceof EntryStackSubsetsMenuEntry) {
+                ((EntryStackSubsetsMenuEntry) child).isFiltered = null;
+            }
+        }
+    }
+    
     @Override
     public boolean mouseClicked(double mouseX, double mouseY, int button) {
         return rendering && mouseX >= x && mouseX <= x + width && mouseY >= y && mouseY <= y + 18;
@@ -138,8 +152,7 @@ public class EntryStackSubsetsMenuEntry extends MenuEntry {
     
     public boolean isFiltered() {
         if (isFiltered == null) {
-            List<EntryStack<?>> filteredStacks = ConfigObject.getInstance().getFilteredStacks();
-            isFiltered = CollectionUtils.findFirstOrNullEqualsExact(filteredStacks, stack) != null;
+            isFiltered = ConfigManagerImpl.getInstance().getFilteredStackIndex().isFiltered(stack);
         }
         return isFiltered;
     }
@@ -30,15 +30,15 @@ import me.shedaniel.math.Point;
 import me.shedaniel.math.Rectangle;
 import me.shedaniel.rei.api.client.REIHelper;
 import me.shedaniel.rei.api.client.config.ConfigManager;
-import me.shedaniel.rei.api.client.config.ConfigObject;
 import me.shedaniel.rei.api.client.gui.widgets.Tooltip;
 import me.shedaniel.rei.api.client.registry.entry.EntryRegistry;
-import me.shedaniel.rei.api.common.entry.EntryStack;
-import me.shedaniel.rei.api.common.util.EntryStacks;
 import me.shedaniel.rei.impl.client.REIHelperImpl;
+import me.shedaniel.rei.impl.client.config.ConfigManagerImpl;
+import me.shedaniel.rei.impl.client.config.FilteredStackIndex;
 import me.shedaniel.rei.impl.client.gui.ContainerScreenOverlay;
 import me.shedaniel.rei.impl.client.gui.modules.Menu;
 import me.shedaniel.rei.impl.client.gui.modules.MenuEntry;
+import me.shedaniel.rei.impl.client.gui.modules.SubsetsMenuNode;
 import me.shedaniel.rei.impl.client.gui.widget.TabWidget;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.components.events.GuiEventListener;
@@ -48,6 +48,7 @@ import net.minecraft.sounds.SoundEvents;
 import net.minecraft.util.Mth;
 import net.minecraft.util.Tuple;
 import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Collections;
 import java.util.List;
@@ -60,23 +61,36 @@ public class SubSubsetsMenuEntry extends MenuEntry {
     private int textWidth = -69;
     private int x, y, width;
     private boolean selected, containsMouse, rendering;
+    private final SubsetsMenuNode node;
+    private Supplier<List<MenuEntry>> entriesSupplier;
     private List<MenuEntry> entries;
     private Menu subsetsMenu;
-    private Tuple<Integer, Integer> filteredRatio = null;
-    private long lastListHash = -1;
     private boolean clickedBefore = false;
     
     public SubSubsetsMenuEntry(String text) {
-        this(text, Collections.emptyList());
+        this(text, new SubsetsMenuNode(), Collections::emptyList);
     }
     
-    public SubSubsetsMenuEntry(String text, Supplier<List<MenuEntry>> entries) {
-        this(text, entries.get());
+    /**
+     * @param node    the node of this entry, holding its stacks and filtered counters
+     * @param entries the supplier of the child entries, only called once this entry is expanded
+     */
+    public SubSubsetsMenuEntry(String text, SubsetsMenuNode node, Supplier<List<MenuEntry>> entries) {
+        this.text = text;
+        this.node = node;
+        this.entriesSupplier = entries;
     }
     
-    public SubSubsetsMenuEntry(String text, List<MenuEntry> entries) {
-        this.text = text;
-        this.entries = entries;
+    private List<MenuEntry> getEntries() {
+        if (entries == null) {
+            this.entries = entriesSupplier.get();
+            this.entriesSupplier = null;
+        }
+        return entries;
+    }
+    
+    private boolean hasEntries() {
+        return node.getTotalCount() > 0;
     }
     
     private int getTextWidth() {
@@ -88,11 +102,16 @@ public class SubSubsetsMenuEntry extends MenuEntry {
     
     public Menu getSubsetsMenu() {
         if (subsetsMenu == null) {
-            this.subsetsMenu = new Menu(new Point(getParent().getBounds().getMaxX() - 1, y - 1), entries);
+            this.subsetsMenu = new Menu(new Point(getParent().getBounds().getMaxX() - 1, y - 1), getEntries());
         }
         return subsetsMenu;
     }
     
+    @Nullable
+    Menu getBuiltSubsetsMenu() {
+        return subsetsMenu;
+    }
+    
     @Override
     public int getEntryWidth() {
         return 12 + getTextWidth() + 4;
@@ -123,7 +142,7 @@ public class SubSubsetsMenuEntry extends MenuEntry {
             fill(matrices, x, y, x + width, y + 12, -12237499);
         }
         if (selected) {
-            if (!entries.isEmpty()) {
+            if (hasEntries()) {
                 Menu menu = getSubsetsMenu();
                 menu.menuStartPoint.x = getParent().getBounds().getMaxX() - 1;
                 menu.menuStartPoint.y = y - 1;
@@ -135,13 +154,13 @@ public class SubSubsetsMenuEntry extends MenuEntry {
                 }
             } else clickedBefore = false;
             if (clickedBefore) {
-                if (rendering && mouseX >= x && mouseX <= x + width && mouseY >= y && mouseY <= y + 12 && !entries.isEmpty()) {
+                if (rendering && mouseX >= x && mouseX <= x + width && mouseY >= y && mouseY <= y + 12 && hasEntries()) {
                     REIHelper.getInstance().queueTooltip(Tooltip.create(new TextComponent("Click again to filter everything in this group.")));
                 } else clickedBefore = false;
             }
         } else clickedBefore = false;
         font.draw(matrices, text, x + 2, y + 2, selected ? 16777215 : 8947848);
-        if (!entries.isEmpty()) {
+        if (hasEntries()) {
             Minecraft.getInstance().getTextureManager().bind(TabWidget.CHEST_GUI_TEXTURE);
             blit(matrices, x + width - 15, y - 2, 0, 28, 18, 18);
         }
@@ -149,12 +168,18 @@ public class SubSubsetsMenuEntry extends MenuEntry {
     
     @Override
     public boolean mouseClicked(double mouseX, double mouseY, int button) {
-        if (rendering && mouseX >= x && mouseX <= x + width && mouseY >= y && mouseY <= y + 12 && !entries.isEmpty()) {
+        if (rendering && mouseX >= x && mouseX <= x + width && mouseY >= y && mouseY <= y + 12 && hasEntries()) {
             if (clickedBefore) {
                 clickedBefore = false;
-                List<EntryStack<?>> filteredStacks = ConfigObject.getInstance().getFilteredStacks();
                 Menu overlay = ((ContainerScreenOverlay) REIHelper.getInstance().getOverlay().get()).getOverlayMenu();
-                setFiltered(filteredStacks, overlay, this, !(getFilteredRatio() > 0));
+                FilteredStackIndex index = ConfigManagerImpl.getInstance().getFilteredStackIndex();
+                if (getFilteredRatio() > 0) {
+                    index.unfilter(node.getAllStacks());
+                } else {
+                    index.filter(node.getAllStacks());
+                }
+                if (overlay != null)
+                    EntryStackSubsetsMenuEntry.invalidateFilter(overlay);
                 ConfigManager.getInstance().saveConfig();
                 EntryRegistry.getInstance().refilter();
                 if (REIHelperImpl.getSearchField() != null) {
@@ -169,49 +194,16 @@ public class SubSubsetsMenuEntry extends MenuEntry {
         return super.mouseClicked(mouseX, mouseY, button);
     }
     
-    private void setFiltered(List<EntryStack<?>> filteredStacks, Menu subsetsMenu, SubSubsetsMenuEntry subSubsetsMenuEntry, boolean filtered) {
-        for (MenuEntry entry : subSubsetsMenuEntry.entries) {
-            if (entry instanceof EntryStackSubsetsMenuEntry) {
-                if (((EntryStackSubsetsMenuEntry) entry).isFiltered() != filtered) {
-                    if (!filtered) {
-                        filteredStacks.removeIf(next -> EntryStacks.equalsExact(next, ((EntryStackSubsetsMenuEntry) entry).stack));
-                    } else {
-                        filteredStacks.add(((EntryStackSubsetsMenuEntry) entry).stack.normalize());
-                    }
-                }
-                if (subsetsMenu != null)
-                    ((EntryStackSubsetsMenuEntry) entry).recalculateFilter(subsetsMenu);
-            } else if (entry instanceof SubSubsetsMenuEntry) {
-                setFiltered(filteredStacks, subsetsMenu, (SubSubsetsMenuEntry) entry, filtered);
-            }
-        }
-    }
-    
     public double getFilteredRatio() {
-        Tuple<Integer, Integer> pair = getFilteredRatioPair();
-        return pair.getB() == 0 ? 0 : pair.getA() / (double) pair.getB();
+        // Picks up changes made to the filtered stacks outside of the index, the counters are otherwise kept up to date
+        ConfigManagerImpl.getInstance().getFilteredStackIndex().validate();
+        int total = node.getTotalCount();
+        return total == 0 ? 0 : node.getFilteredCount() / (double) total;
     }
     
     public Tuple<Integer, Integer> getFilteredRatioPair() {
-        List<EntryStack<?>> filteredStacks = ConfigObject.getInstance().getFilteredStacks();
-        if (lastListHash != filteredStacks.hashCode()) {
-            int size = 0;
-            int filtered = 0;
-            for (MenuEntry entry : entries) {
-                if (entry instanceof EntryStackSubsetsMenuEntry) {
-                    size++;
-                    if (((EntryStackSubsetsMenuEntry) entry).isFiltered())
-                        filtered++;
-                } else if (entry instanceof SubSubsetsMenuEntry) {
-                    Tuple<Integer, Integer> pair = ((SubSubsetsMenuEntry) entry).getFilteredRatioPair();
-                    filtered += pair.getA();
-                    size += pair.getB();
-                }
-            }
-            filteredRatio = new Tuple<>(filtered, size);
-            lastListHash = filteredStacks.hashCode();
-        }
-        return filteredRatio;
+        ConfigManagerImpl.getInstance().getFilteredStackIndex().validate();
+        return new Tuple<>(node.getFilteredCount(), node.getTotalCount());
     }
     
     @Override
@@ -24,7 +24,9 @@
 package me.shedaniel.rei.impl.client.gui.screen;
 
 import com.mojang.blaze3d.vertex.PoseStack;
+import me.shedaniel.rei.RoughlyEnoughItemsCore;
 import me.shedaniel.rei.api.common.plugins.PluginManager;
+import me.shedaniel.rei.impl.common.plugins.ReloadScheduler;
 import net.minecraft.Util;
 import net.minecraft.client.gui.chat.NarratorChatListener;
 import net.minecraft.client.gui.screens.Screen;
@@ -48,7 +50,8 @@ public class ConfigReloadingScreen extends Screen {
     @Override
     public void render(PoseStack matrices, int int_1, int int_2, float float_1) {
         this.renderDirtBackground(0);
-        if (!PluginManager.areAnyPluginsReloading()) {
+        ReloadScheduler scheduler = RoughlyEnoughItemsCore.getReloadScheduler();
+        if (!PluginManager.areAnyPluginsReloading() && !scheduler.isPending() && !scheduler.isReloading()) {
             parent.run();
         }
         drawCenteredString(matrices, this.font, I18n.get("text.rei.config.is.reloading"), this.width / 2, this.height / 2 - 50, 16777215);
@@ -66,6 +69,10 @@ public class ConfigReloadingScreen extends Screen {
                 string_3 = "o o O";
         }
         drawCenteredString(matrices, this.font, string_3, this.width / 2, this.height / 2 - 41, 8421504);
+        String stage = scheduler.getStage();
+        if (stage != null && !stage.isEmpty()) {
+            drawCenteredString(matrices, this.font, String.format("%s (%d%%)", stage, Math.round(scheduler.getProgress() * 100)), this.width / 2, this.height / 2 - 32, 8421504);
+        }
         super.render(matrices, int_1, int_2, float_1);
     }
 }
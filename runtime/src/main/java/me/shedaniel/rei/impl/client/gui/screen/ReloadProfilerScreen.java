@@ -0,0 +1,153 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.shedaniel.rei.impl.client.gui.screen;
+
+import com.mojang.blaze3d.vertex.PoseStack;
+import me.shedaniel.rei.impl.client.gui.widget.DynamicErrorFreeEntryListWidget;
+import me.shedaniel.rei.impl.common.plugins.ReloadProfiler;
+import net.minecraft.ChatFormatting;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.gui.GuiComponent;
+import net.minecraft.client.gui.components.Button;
+import net.minecraft.client.gui.screens.Screen;
+import net.minecraft.network.chat.Component;
+import net.minecraft.network.chat.MutableComponent;
+import net.minecraft.network.chat.TextComponent;
+import net.minecraft.network.chat.TranslatableComponent;
+import net.minecraft.util.FormattedCharSequence;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+@ApiStatus.Internal
+public class ReloadProfilerScreen extends Screen {
+    private final Screen parent;
+    private SampleListWidget listWidget;
+    private Component message = null;
+    
+    public ReloadProfilerScreen(Screen parent) {
+        super(new TranslatableComponent("text.rei.reload_profiler"));
+        this.parent = parent;
+    }
+    
+    @Override
+    public void init() {
+        children.add(listWidget = new SampleListWidget(minecraft, width, height, 32, height - 32));
+        List<ReloadProfiler.Sample> samples = ReloadProfiler.getSamples();
+        samples.sort(Comparator.<ReloadProfiler.Sample>comparingLong(sample -> sample.wallNanos).reversed());
+        listWidget.addRow(new RowItem(ChatFormatting.GOLD, new TranslatableComponent("text.rei.reload_profiler.wall"), new TranslatableComponent("text.rei.reload_profiler.cpu"),
+                new TranslatableComponent("text.rei.reload_profiler.allocated"), new TranslatableComponent("text.rei.reload_profiler.plugin_stage")));
+        for (ReloadProfiler.Sample sample : samples) {
+            MutableComponent name = sample.plugin == null ? new TextComponent(sample.stage)
+                    : new TranslatableComponent("text.rei.reload_profiler.plugin_stage.entry", sample.plugin, sample.stage);
+            for (Map.Entry<String, Integer> entry : sample.counters.entrySet()) {
+                if (entry.getValue() != 0) {
+                    name.append(new TranslatableComponent("text.rei.reload_profiler.counter", String.format("%+d", entry.getValue()), entry.getKey()));
+                }
+            }
+            listWidget.addRow(new RowItem(ChatFormatting.WHITE, formatNanos(sample.wallNanos), formatNanos(sample.cpuNanos), formatBytes(sample.allocatedBytes), name));
+        }
+        addButton(new Button(width / 2 - 154, height - 26, 100, 20, new TranslatableComponent("text.rei.reload_profiler.export_json"), button -> export(true)));
+        addButton(new Button(width / 2 - 50, height - 26, 100, 20, new TranslatableComponent("text.rei.reload_profiler.export_flamegraph"), button -> export(false)));
+        addButton(new Button(width / 2 + 54, height - 26, 100, 20, new TranslatableComponent("gui.done"), button -> minecraft.setScreen(parent)));
+    }
+    
+    private void export(boolean json) {
+        Path path = ReloadProfiler.export(json);
+        message = path == null ? new TranslatableComponent("text.rei.reload_profiler.export_failed").withStyle(ChatFormatting.RED)
+                : new TranslatableComponent("text.rei.reload_profiler.exported", path.toString());
+    }
+    
+    private static Component formatNanos(long nanos) {
+        return new TranslatableComponent("text.rei.reload_profiler.milliseconds", String.format("%.2f", nanos / 1000000.0));
+    }
+    
+    private static Component formatBytes(long bytes) {
+        return new TranslatableComponent("text.rei.reload_profiler.megabytes", String.format("%.2f", bytes / 1048576.0));
+    }
+    
+    @Override
+    public boolean mouseScrolled(double mouseX, double mouseY, double amount) {
+        return listWidget.mouseScrolled(mouseX, mouseY, amount) || super.mouseScrolled(mouseX, mouseY, amount);
+    }
+    
+    @Override
+    public void render(PoseStack matrices, int mouseX, int mouseY, float delta) {
+        this.renderDirtBackground(0);
+        this.listWidget.render(matrices, mouseX, mouseY, delta);
+        drawCenteredString(matrices, this.font, message == null ? title : message, this.width / 2, 16, 16777215);
+        super.render(matrices, mouseX, mouseY, delta);
+    }
+    
+    private static class SampleListWidget extends DynamicErrorFreeEntryListWidget<RowItem> {
+        public SampleListWidget(Minecraft client, int width, int height, int startY, int endY) {
+            super(client, width, height, startY, endY, GuiComponent.BACKGROUND_LOCATION);
+        }
+        
+        public void addRow(RowItem item) {
+            addItem(item);
+        }
+        
+        @Override
+        public int getItemWidth() {
+            return width - 80;
+        }
+        
+        @Override
+        protected int getScrollbarPosition() {
+            return width - 40;
+        }
+    }
+    
+    private static class RowItem extends DynamicErrorFreeEntryListWidget.Entry<RowItem> {
+        private static final int COLUMN_WIDTH = 60;
+        private final FormattedCharSequence[] columns;
+        
+        public RowItem(ChatFormatting formatting, Component... columns) {
+            this.columns = new FormattedCharSequence[columns.length];
+            for (int i = 0; i < columns.length; i++) {
+                this.columns[i] = columns[i].copy().withStyle(formatting).getVisualOrderText();
+            }
+        }
+        
+        @Override
+        public void render(PoseStack matrices, int index, int y, int x, int entryWidth, int entryHeight, int mouseX, int mouseY, boolean isSelected, float delta) {
+            for (int i = 0; i < columns.length; i++) {
+                Minecraft.getInstance().font.drawShadow(matrices, columns[i], x + 5 + i * COLUMN_WIDTH, y, -1);
+            }
+        }
+        
+        @Override
+        public int getItemHeight() {
+            return 12;
+        }
+        
+        @Override
+        public boolean changeFocus(boolean focus) {
+            return false;
+        }
+    }
+}
@@ -145,7 +145,7 @@ public class UncertainDisplayViewingScreen extends Screen {
                     } else if (allModsUsingJEI != null && jeiEnabled) {
                         ConfigManagerImpl.getInstance().getConfig().setJEICompatibilityLayerEnabled(jeiEnabled);
                         ConfigManager.getInstance().saveConfig();
-                        RoughlyEnoughItemsCore.reloadPlugins(null);
+                        RoughlyEnoughItemsCore.reloadPlugins();
                         Minecraft.getInstance().setScreen(new ConfigReloadingScreen(() -> callback.accept(original)));
                     } else {
                         callback.accept(original);
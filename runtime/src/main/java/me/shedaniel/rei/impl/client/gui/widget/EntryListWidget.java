@@ -28,6 +28,7 @@ import com.google.common.collect.Lists;
 import com.mojang.blaze3d.vertex.PoseStack;
 import com.mojang.blaze3d.vertex.Tesselator;
 import com.mojang.math.Matrix4f;
+import it.unimi.dsi.fastutil.ints.IntArrays;
 import me.shedaniel.architectury.fluid.FluidStack;
 import me.shedaniel.clothconfig2.ClothConfigInitializer;
 import me.shedaniel.clothconfig2.api.ScissorsHandler;
@@ -46,6 +47,7 @@ import me.shedaniel.rei.api.client.gui.config.EntryPanelOrdering;
 import me.shedaniel.rei.api.client.gui.widgets.Tooltip;
 import me.shedaniel.rei.api.client.gui.widgets.Widget;
 import me.shedaniel.rei.api.client.gui.widgets.WidgetWithBounds;
+import me.shedaniel.rei.api.client.registry.entry.EntryRegistry;
 import me.shedaniel.rei.api.client.registry.screen.OverlayDecider;
 import me.shedaniel.rei.api.client.registry.screen.ScreenRegistry;
 import me.shedaniel.rei.api.common.entry.EntryStack;
@@ -55,6 +57,7 @@ import me.shedaniel.rei.impl.client.ClientHelperImpl;
 import me.shedaniel.rei.impl.client.config.ConfigManagerImpl;
 import me.shedaniel.rei.impl.client.config.ConfigObjectImpl;
 import me.shedaniel.rei.impl.client.gui.ContainerScreenOverlay;
+import me.shedaniel.rei.impl.client.gui.OverlayFrameTimings;
 import me.shedaniel.rei.impl.client.search.AsyncSearchManager;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.screens.Screen;
@@ -72,22 +75,18 @@ import org.apache.commons.lang3.mutable.MutableInt;
 import org.apache.commons.lang3.mutable.MutableLong;
 import org.jetbrains.annotations.ApiStatus;
 
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @ApiStatus.Internal
 public class EntryListWidget extends WidgetWithBounds {
-    static final Comparator<? super EntryStack<?>> ENTRY_NAME_COMPARER = Comparator.comparing(stack -> stack.asFormatStrippedText().getString());
-    static final Comparator<? super EntryStack<?>> ENTRY_GROUP_COMPARER = Comparator.comparingInt(stack -> {
-        if (stack.getType() == VanillaEntryTypes.ITEM) {
-            CreativeModeTab group = ((ItemStack) stack.getValue()).getItem().getItemCategory();
-            if (group != null)
-                return group.getId();
-        }
-        return Integer.MAX_VALUE;
-    });
+    private static List<EntryStack<?>> orderedStacks;
+    private static List<EntryStack<?>> orderedStacksSource;
+    private static EntryPanelOrdering orderedStacksOrdering;
+    private static String orderedStacksLanguage;
     private static final int SIZE = 18;
     private static final boolean LAZY = true;
     private static int page;
@@ -110,20 +109,30 @@ public class EntryListWidget extends WidgetWithBounds {
     private List<EntryListEntry> entries = Collections.emptyList();
     private List<Widget> renders = Collections.emptyList();
     private List<Widget> widgets = Collections.emptyList();
-    private AsyncSearchManager searchManager = AsyncSearchManager.createDefault();
+    // Batch groups of the visible entries, rebuilt only when the layout, the stacks or the scroll amount change
+    private BatchEntryRendererManager batchedRenderer;
+    private List<EntryListEntry> batchedEntries;
+    private List<EntryStack<?>> batchedStacks;
+    private double batchedScrollAmount;
+    private AsyncSearchManager searchManager = AsyncSearchManager.createDefault(EntryListWidget::getOrderedStacks);
     
     public static int entrySize() {
         return Mth.ceil(SIZE * ConfigObject.getInstance().getEntrySize());
     }
     
     public static boolean notSteppingOnExclusionZones(int left, int top, int width, int height, Rectangle listArea) {
-        Minecraft instance = Minecraft.getInstance();
-        for (OverlayDecider decider : ScreenRegistry.getInstance().getDeciders(instance.screen)) {
-            InteractionResult fit = canItemSlotWidgetFit(left, top, width, height, decider);
-            if (fit != InteractionResult.PASS)
-                return fit == InteractionResult.SUCCESS;
+        long start = OverlayFrameTimings.start();
+        try {
+            Minecraft instance = Minecraft.getInstance();
+            for (OverlayDecider decider : ScreenRegistry.getInstance().getDeciders(instance.screen)) {
+                InteractionResult fit = canItemSlotWidgetFit(left, top, width, height, decider);
+                if (fit != InteractionResult.PASS)
+                    return fit == InteractionResult.SUCCESS;
+            }
+            return true;
+        } finally {
+            OverlayFrameTimings.stop(OverlayFrameTimings.Section.EXCLUSION_ZONES, start);
         }
-        return true;
     }
     
     private static InteractionResult canItemSlotWidgetFit(int left, int top, int width, int height, OverlayDecider decider) {
@@ -217,32 +226,36 @@ public class EntryListWidget extends WidgetWithBounds {
         if (ConfigObject.getInstance().isEntryListWidgetScrolled()) {
             ScissorsHandler.INSTANCE.scissor(bounds);
             
-            int skip = Math.max(0, Mth.floor(scrolling.scrollAmount / (float) entrySize()));
-            int nextIndex = skip * innerBounds.width / entrySize();
-            this.blockedCount = 0;
-            BatchEntryRendererManager helper = new BatchEntryRendererManager();
-            
-            int i = nextIndex;
-            for (int cont = nextIndex; cont < entries.size(); cont++) {
-                EntryListEntry entry = entries.get(cont);
-                Rectangle entryBounds = entry.getBounds();
+            if (batchedRenderer == null || batchedEntries != entries || batchedStacks != allStacks || batchedScrollAmount != scrolling.scrollAmount) {
+                int skip = Math.max(0, Mth.floor(scrolling.scrollAmount / (float) entrySize()));
+                int nextIndex = skip * innerBounds.width / entrySize();
+                this.blockedCount = 0;
+                BatchEntryRendererManager helper = new BatchEntryRendererManager();
                 
-                entryBounds.y = (int) (entry.backupY - scrolling.scrollAmount);
-                if (entryBounds.y > this.bounds.getMaxY()) break;
-                if (allStacks.size() <= i) break;
-                if (notSteppingOnExclusionZones(entryBounds.x, entryBounds.y, entryBounds.width, entryBounds.height, innerBounds)) {
-                    EntryStack<?> stack = allStacks.get(i++);
-                    entry.clearStacks();
-                    if (!stack.isEmpty()) {
-                        entry.entry(stack);
-                        helper.add(entry);
+                int i = nextIndex;
+                for (int cont = nextIndex; cont < entries.size(); cont++) {
+                    EntryListEntry entry = entries.get(cont);
+                    Rectangle entryBounds = entry.getBounds();
+                    
+                    entryBounds.y = (int) (entry.backupY - scrolling.scrollAmount);
+                    if (entryBounds.y > this.bounds.getMaxY()) break;
+                    if (allStacks.size() <= i) break;
+                    if (notSteppingOnExclusionZones(entryBounds.x, entryBounds.y, entryBounds.width, entryBounds.height, innerBounds)) {
+                        EntryStack<?> stack = allStacks.get(i++);
+                        entry.clearStacks();
+                        if (!stack.isEmpty()) {
+                            entry.entry(stack);
+                            helper.add(entry);
+                        }
+                    } else {
+                        blockedCount++;
                     }
-                } else {
-                    blockedCount++;
                 }
+                
+                cacheBatchedRenderer(helper);
             }
             
-            helper.render(debugTime, size, time, matrices, mouseX, mouseY, delta);
+            batchedRenderer.render(debugTime, size, time, matrices, mouseX, mouseY, delta);
             
             updatePosition(delta);
             ScissorsHandler.INSTANCE.removeLastScissor();
@@ -253,7 +266,10 @@ public class EntryListWidget extends WidgetWithBounds {
             for (Widget widget : renders) {
                 widget.render(matrices, mouseX, mouseY, delta);
             }
-            new BatchEntryRendererManager(entries).render(debugTime, size, time, matrices, mouseX, mouseY, delta);
+            if (batchedRenderer == null || batchedEntries != entries || batchedStacks != allStacks) {
+                cacheBatchedRenderer(new BatchEntryRendererManager(entries));
+            }
+            batchedRenderer.render(debugTime, size, time, matrices, mouseX, mouseY, delta);
         }
         
         if (debugTime) {
@@ -351,6 +367,13 @@ public class EntryListWidget extends WidgetWithBounds {
         }
     }
     
+    private void cacheBatchedRenderer(BatchEntryRendererManager renderer) {
+        this.batchedRenderer = renderer;
+        this.batchedEntries = entries;
+        this.batchedStacks = allStacks;
+        this.batchedScrollAmount = scrolling.scrollAmount;
+    }
+    
     public void updateEntriesPosition() {
         int entrySize = entrySize();
         this.innerBounds = updateInnerBounds(bounds);
@@ -416,12 +439,8 @@ public class EntryListWidget extends WidgetWithBounds {
         if (ignoreLastSearch) searchManager.markDirty();
         searchManager.updateFilter(searchTerm);
         if (searchManager.isDirty()) {
+            // The search runs over the ordered stacks, so the results are already sorted
             List<EntryStack<?>> list = searchManager.get();
-            EntryPanelOrdering ordering = ConfigObject.getInstance().getItemListOrdering();
-            if (ordering == EntryPanelOrdering.NAME)
-                list.sort(ENTRY_NAME_COMPARER);
-            if (ordering == EntryPanelOrdering.GROUPS)
-                list.sort(ENTRY_GROUP_COMPARER);
             if (!ConfigObject.getInstance().isItemListAscending()) {
                 Collections.reverse(list);
             }
@@ -438,6 +457,61 @@ public class EntryListWidget extends WidgetWithBounds {
         updateEntriesPosition();
     }
     
+    /**
+     * Returns the pre-filtered stacks in the configured ordering, sorted once per refilter, ordering or language change.
+     * The sort keys are computed once per stack instead of once per comparison.
+     */
+    private static synchronized List<EntryStack<?>> getOrderedStacks() {
+        List<EntryStack<?>> source = EntryRegistry.getInstance().getPreFilteredList();
+        EntryPanelOrdering ordering = ConfigObject.getInstance().getItemListOrdering();
+        if (ordering != EntryPanelOrdering.NAME && ordering != EntryPanelOrdering.GROUPS) {
+            return source;
+        }
+        String language = Minecraft.getInstance().options.languageCode;
+        if (orderedStacks == null || orderedStacksSource != source || orderedStacksOrdering != ordering || !Objects.equals(orderedStacksLanguage, language)) {
+            orderedStacks = orderStacks(source, ordering);
+            orderedStacksSource = source;
+            orderedStacksOrdering = ordering;
+            orderedStacksLanguage = language;
+        }
+        return orderedStacks;
+    }
+    
+    private static List<EntryStack<?>> orderStacks(List<EntryStack<?>> source, EntryPanelOrdering ordering) {
+        int size = source.size();
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        if (ordering == EntryPanelOrdering.NAME) {
+            String[] keys = new String[size];
+            for (int i = 0; i < size; i++) {
+                keys[i] = source.get(i).asFormatStrippedText().getString();
+            }
+            IntArrays.mergeSort(order, (a, b) -> keys[a].compareTo(keys[b]));
+        } else {
+            int[] keys = new int[size];
+            for (int i = 0; i < size; i++) {
+                keys[i] = getGroupKey(source.get(i));
+            }
+            IntArrays.mergeSort(order, (a, b) -> Integer.compare(keys[a], keys[b]));
+        }
+        List<EntryStack<?>> ordered = new ArrayList<>(size);
+        for (int index : order) {
+            ordered.add(source.get(index));
+        }
+        return Collections.unmodifiableList(ordered);
+    }
+    
+    private static int getGroupKey(EntryStack<?> stack) {
+        if (stack.getType() == VanillaEntryTypes.ITEM) {
+            CreativeModeTab group = ((ItemStack) stack.getValue()).getItem().getItemCategory();
+            if (group != null)
+                return group.getId();
+        }
+        return Integer.MAX_VALUE;
+    }
+    
     public boolean matches(EntryStack<?> stack) {
         return searchManager.matches(stack);
     }
@@ -42,8 +42,10 @@ import me.shedaniel.rei.api.client.gui.widgets.Slot;
 import me.shedaniel.rei.api.client.gui.widgets.Tooltip;
 import me.shedaniel.rei.api.client.view.ViewSearchBuilder;
 import me.shedaniel.rei.api.common.entry.EntryStack;
+import me.shedaniel.rei.api.common.util.EntryStacks;
 import me.shedaniel.rei.impl.client.REIHelperImpl;
 import me.shedaniel.rei.impl.client.gui.ContainerScreenOverlay;
+import net.minecraft.Util;
 import net.minecraft.client.gui.components.events.GuiEventListener;
 import net.minecraft.client.gui.screens.Screen;
 import net.minecraft.client.resources.language.I18n;
@@ -65,6 +67,7 @@ public class EntryWidget extends Slot implements DraggableStackProviderWidget {
     public static long stackDisplayOffset = 0;
     protected static final ResourceLocation RECIPE_GUI = new ResourceLocation("roughlyenoughitems", "textures/gui/recipecontainer.png");
     protected static final ResourceLocation RECIPE_GUI_DARK = new ResourceLocation("roughlyenoughitems", "textures/gui/recipecontainer_dark.png");
+    private static final long TOOLTIP_CACHE_MILLIS = 500;
     
     @ApiStatus.Internal
     private byte noticeMark = 0;
@@ -76,6 +79,14 @@ public class EntryWidget extends Slot implements DraggableStackProviderWidget {
     protected boolean wasClicked = false;
     private Rectangle bounds;
     private List<EntryStack<?>> entryStacks;
+    @Nullable
+    private Tooltip cachedTooltip;
+    @Nullable
+    private EntryStack<?> cachedTooltipEntry;
+    private long cachedTooltipHash;
+    private int cachedTooltipState;
+    private long cachedTooltipTime;
+    private boolean cachedTooltipFollowsMouse;
     
     public EntryWidget(Point point) {
         this(new Rectangle(point.x - 1, point.y - 1, 18, 18));
@@ -305,6 +316,49 @@ public class EntryWidget extends Slot implements DraggableStackProviderWidget {
     }
     
     protected void queueTooltip(PoseStack matrices, int mouseX, int mouseY, float delta) {
+        Tooltip tooltip = getCachedTooltip(mouseX, mouseY);
+        if (tooltip != null) {
+            tooltip.queue();
+        }
+    }
+    
+    /**
+     * Returns the tooltip of the hovered entry, reused across frames while the entry, the advanced tooltips flag,
+     * the held modifier keys and the player inventory stay the same, for a short time.
+     */
+    @Nullable
+    private Tooltip getCachedTooltip(int mouseX, int mouseY) {
+        EntryStack<?> entry = getCurrentEntry();
+        long hash = EntryStacks.hashExact(entry);
+        int state = getTooltipState();
+        long time = Util.getMillis();
+        if (cachedTooltipEntry != entry || cachedTooltipHash != hash || cachedTooltipState != state || time - cachedTooltipTime > TOOLTIP_CACHE_MILLIS) {
+            Tooltip tooltip = createTooltip(mouseX, mouseY);
+            this.cachedTooltip = tooltip;
+            this.cachedTooltipEntry = entry;
+            this.cachedTooltipHash = hash;
+            this.cachedTooltipState = state;
+            this.cachedTooltipTime = time;
+            this.cachedTooltipFollowsMouse = tooltip != null && tooltip.getX() == mouseX && tooltip.getY() == mouseY;
+        } else if (cachedTooltip != null && cachedTooltipFollowsMouse && (cachedTooltip.getX() != mouseX || cachedTooltip.getY() != mouseY)) {
+            this.cachedTooltip = Tooltip.create(new Point(mouseX, mouseY), cachedTooltip.getText());
+        }
+        return cachedTooltip;
+    }
+    
+    private int getTooltipState() {
+        int state = minecraft.options.advancedItemTooltips ? 1 : 0;
+        if (Screen.hasShiftDown()) state |= 2;
+        if (Screen.hasControlDown()) state |= 4;
+        if (Screen.hasAltDown()) state |= 8;
+        if (minecraft.player != null) {
+            state |= minecraft.player.inventory.getTimesChanged() << 4;
+        }
+        return state;
+    }
+    
+    @Nullable
+    private Tooltip createTooltip(int mouseX, int mouseY) {
         Tooltip tooltip = getCurrentTooltip(new Point(mouseX, mouseY));
         if (tooltip != null) {
             if (interactableFavorites && ConfigObject.getInstance().doDisplayFavoritesTooltip() && !ConfigObject.getInstance().getFavoriteKeyCode().isUnknown()) {
@@ -316,8 +370,8 @@ public class EntryWidget extends Slot implements DraggableStackProviderWidget {
                     tooltip.getText().addAll(Stream.of(I18n.get("text.rei.favorites_tooltip", name).split("\n"))
                             .map(TextComponent::new).collect(Collectors.toList()));
             }
-            tooltip.queue();
         }
+        return tooltip;
     }
     
     @Override
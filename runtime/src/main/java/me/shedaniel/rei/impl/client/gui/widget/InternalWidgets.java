@@ -41,6 +41,7 @@ import me.shedaniel.rei.api.common.display.Display;
 import me.shedaniel.rei.api.common.util.CollectionUtils;
 import me.shedaniel.rei.impl.ClientInternals;
 import me.shedaniel.rei.impl.client.ClientHelperImpl;
+import me.shedaniel.rei.impl.client.gui.OverlayFrameTimings;
 import me.shedaniel.rei.impl.client.gui.toast.CopyRecipeIdentifierToast;
 import me.shedaniel.rei.impl.client.gui.widget.basewidgets.*;
 import net.fabricmc.api.EnvType;
@@ -91,63 +92,68 @@ public final class InternalWidgets {
                     REIHelper.getInstance().getOverlay().get().queueReloadOverlay();
                 })
                 .onRender((matrices, button) -> {
-                    button.setEnabled(false);
-                    if (containerScreen == null) {
-                        button.setTint(0);
-                        return;
-                    }
-                    List<Component> error = null;
-                    int color = 0;
-                    visible[0] = false;
-                    IntList redSlots = null;
-                    TransferHandler.Context context = TransferHandler.Context.create(false, containerScreen, displaySupplier.get());
-                    for (TransferHandler transferHandler : TransferHandlerRegistry.getInstance()) {
-                        try {
-                            TransferHandler.Result result = transferHandler.handle(context);
-                            if (result.isApplicable()) {
-                                visible[0] = true;
-                            }
-                            if (result.isSuccessful()) {
-                                button.setEnabled(true);
-                                error = null;
-                                color = 0;
-                                redSlots = null;
-                            } else if (result.isApplicable()) {
-                                if (error == null) {
-                                    error = Lists.newArrayList();
+                    long start = OverlayFrameTimings.start();
+                    try {
+                        button.setEnabled(false);
+                        if (containerScreen == null) {
+                            button.setTint(0);
+                            return;
+                        }
+                        List<Component> error = null;
+                        int color = 0;
+                        visible[0] = false;
+                        IntList redSlots = null;
+                        TransferHandler.Context context = TransferHandler.Context.create(false, containerScreen, displaySupplier.get());
+                        for (TransferHandler transferHandler : TransferHandlerRegistry.getInstance()) {
+                            try {
+                                TransferHandler.Result result = transferHandler.handle(context);
+                                if (result.isApplicable()) {
+                                    visible[0] = true;
+                                }
+                                if (result.isSuccessful()) {
+                                    button.setEnabled(true);
+                                    error = null;
+                                    color = 0;
+                                    redSlots = null;
+                                } else if (result.isApplicable()) {
+                                    if (error == null) {
+                                        error = Lists.newArrayList();
+                                    }
+                                    error.add(result.getError());
+                                    color = result.getColor();
+                                    if (result.getIntegers() != null && !result.getIntegers().isEmpty())
+                                        redSlots = result.getIntegers();
                                 }
-                                error.add(result.getError());
-                                color = result.getColor();
-                                if (result.getIntegers() != null && !result.getIntegers().isEmpty())
-                                    redSlots = result.getIntegers();
-                            }
                             
-                            if (result.isBlocking()) break;
-                        } catch (Exception e) {
-                            e.printStackTrace();
+                                if (result.isBlocking()) break;
+                            } catch (Exception e) {
+                                e.printStackTrace();
+                            }
                         }
-                    }
-                    if (!visible[0]) {
-                        button.setEnabled(false);
-                        if (error == null) {
-                            error = Lists.newArrayList();
-                        } else {
-                            error.clear();
+                        if (!visible[0]) {
+                            button.setEnabled(false);
+                            if (error == null) {
+                                error = Lists.newArrayList();
+                            } else {
+                                error.clear();
+                            }
+                            error.add(new TranslatableComponent("error.rei.no.handlers.applicable"));
                         }
-                        error.add(new TranslatableComponent("error.rei.no.handlers.applicable"));
-                    }
-                    if ((button.containsMouse(PointHelper.ofMouse()) || button.isFocused()) && category instanceof TransferDisplayCategory && redSlots != null) {
-                        ((TransferDisplayCategory<Display>) category).renderRedSlots(matrices, setupDisplay, displayBounds, displaySupplier.get(), redSlots);
-                    }
-                    errorTooltip[0] = error == null || error.isEmpty() ? null : Lists.newArrayList();
-                    if (errorTooltip[0] != null) {
-                        for (Component s : error) {
-                            if (!CollectionUtils.anyMatch(errorTooltip[0], ss -> ss.getString().equalsIgnoreCase(s.getString()))) {
-                                errorTooltip[0].add(s);
+                        if ((button.containsMouse(PointHelper.ofMouse()) || button.isFocused()) && category instanceof TransferDisplayCategory && redSlots != null) {
+                            ((TransferDisplayCategory<Display>) category).renderRedSlots(matrices, setupDisplay, displayBounds, displaySupplier.get(), redSlots);
+                        }
+                        errorTooltip[0] = error == null || error.isEmpty() ? null : Lists.newArrayList();
+                        if (errorTooltip[0] != null) {
+                            for (Component s : error) {
+                                if (!CollectionUtils.anyMatch(errorTooltip[0], ss -> ss.getString().equalsIgnoreCase(s.getString()))) {
+                                    errorTooltip[0].add(s);
+                                }
                             }
                         }
+                        button.setTint(color);
+                    } finally {
+                        OverlayFrameTimings.stop(OverlayFrameTimings.Section.TRANSFER_BUTTONS, start);
                     }
-                    button.setTint(color);
                 })
                 .textColor((button, mouse) -> {
                     if (!visible[0]) {
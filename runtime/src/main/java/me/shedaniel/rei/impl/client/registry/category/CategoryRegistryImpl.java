@@ -23,6 +23,8 @@
 
 package me.shedaniel.rei.impl.client.registry.category;
 
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import me.shedaniel.rei.api.client.plugins.REIClientPlugin;
 import me.shedaniel.rei.api.client.registry.category.ButtonArea;
 import me.shedaniel.rei.api.client.registry.category.CategoryRegistry;
@@ -31,7 +33,11 @@ import me.shedaniel.rei.api.common.category.CategoryIdentifier;
 import me.shedaniel.rei.api.common.display.Display;
 import me.shedaniel.rei.api.common.display.DisplaySerializerRegistry;
 import me.shedaniel.rei.api.common.entry.EntryIngredient;
+import me.shedaniel.rei.api.common.entry.EntryStack;
 import me.shedaniel.rei.api.common.util.CollectionUtils;
+import me.shedaniel.rei.api.common.util.EntryIngredients;
+import me.shedaniel.rei.api.common.util.EntryStacks;
+import me.shedaniel.rei.impl.common.registry.ReloadGeneration;
 import org.jetbrains.annotations.ApiStatus;
 
 import java.util.*;
@@ -39,9 +45,17 @@ import java.util.function.Consumer;
 
 @ApiStatus.Internal
 public class CategoryRegistryImpl implements CategoryRegistry {
-    private final Map<CategoryIdentifier<?>, Configuration<?>> categories = new LinkedHashMap<>();
+    private volatile Map<CategoryIdentifier<?>, Configuration<?>> categories = new LinkedHashMap<>();
+    private volatile Map<CategoryIdentifier<?>, Configuration<?>> building;
+    private volatile Thread reloadThread;
+    private volatile Long2ObjectMap<List<CategoryIdentifier<?>>> workstationIndex = new Long2ObjectOpenHashMap<>();
     private final Map<CategoryIdentifier<?>, List<Consumer<CategoryConfiguration<?>>>> listeners = new HashMap<>();
     
+    private Map<CategoryIdentifier<?>, Configuration<?>> categories() {
+        Map<CategoryIdentifier<?>, Configuration<?>> building = this.building;
+        return building != null && !ReloadGeneration.readsPublished(reloadThread) ? building : categories;
+    }
+    
     @Override
     public void acceptPlugin(REIClientPlugin plugin) {
         plugin.registerCategories(this);
@@ -49,13 +63,27 @@ public class CategoryRegistryImpl implements CategoryRegistry {
     
     @Override
     public void startReload() {
-        this.categories.clear();
+        this.building = new LinkedHashMap<>();
+        this.reloadThread = Thread.currentThread();
     }
     
     @Override
     public void endReload() {
+        Map<CategoryIdentifier<?>, Configuration<?>> building = this.building;
+        Long2ObjectMap<List<CategoryIdentifier<?>>> workstationIndex = new Long2ObjectOpenHashMap<>();
+        for (Configuration<?> configuration : building.values()) {
+            indexWorkstations(workstationIndex, configuration.getCategoryIdentifier(), configuration.workstations);
+        }
+        synchronized (this) {
+            this.categories = building;
+            this.workstationIndex = workstationIndex;
+        }
+        this.building = null;
+        this.reloadThread = null;
+        
+        // Reported after publishing, so that the registered categories are still usable
         List<CategoryIdentifier<?>> notRegisteredSerializers = new ArrayList<>();
-        for (CategoryIdentifier<?> identifier : this.categories.keySet()) {
+        for (CategoryIdentifier<?> identifier : building.keySet()) {
             if (!DisplaySerializerRegistry.getInstance().hasRegistered(identifier)) {
                 notRegisteredSerializers.add(identifier);
             }
@@ -66,10 +94,16 @@ public class CategoryRegistryImpl implements CategoryRegistry {
         }
     }
     
+    @Override
+    public void abortReload() {
+        this.building = null;
+        this.reloadThread = null;
+    }
+    
     @Override
     public <T extends Display> void register(DisplayCategory<T> category, Consumer<CategoryConfiguration<T>> configurator) {
-        Configuration<T> configuration = new Configuration<>(category);
-        this.categories.put(category.getCategoryIdentifier(), configuration);
+        Configuration<T> configuration = new Configuration<>(this, category);
+        categories().put(category.getCategoryIdentifier(), configuration);
         configurator.accept(configuration);
         
         List<Consumer<CategoryConfiguration<?>>> listeners = this.listeners.get(category.getCategoryIdentifier());
@@ -83,12 +117,12 @@ public class CategoryRegistryImpl implements CategoryRegistry {
     
     @Override
     public <T extends Display> CategoryConfiguration<T> get(CategoryIdentifier<T> category) {
-        return (CategoryConfiguration<T>) Objects.requireNonNull(this.categories.get(category), category.toString());
+        return (CategoryConfiguration<T>) Objects.requireNonNull(categories().get(category), category.toString());
     }
     
     @Override
     public <T extends Display> void configure(CategoryIdentifier<T> category, Consumer<CategoryConfiguration<T>> action) {
-        if (this.categories.containsKey(category)) {
+        if (categories().containsKey(category)) {
             action.accept(get(category));
         } else {
             //noinspection rawtypes
@@ -96,29 +130,91 @@ public class CategoryRegistryImpl implements CategoryRegistry {
         }
     }
     
+    @Override
+    public Set<CategoryIdentifier<?>> getWorkstationCategories(EntryStack<?> stack) {
+        Map<CategoryIdentifier<?>, Configuration<?>> categories = categories();
+        // The index only covers the published categories, scan the categories being reloaded instead
+        Collection<CategoryIdentifier<?>> candidates = categories == this.categories ?
+                workstationIndex.getOrDefault(EntryStacks.hashFuzzy(stack), Collections.emptyList()) : categories.keySet();
+        if (candidates.isEmpty()) return Collections.emptySet();
+        Set<CategoryIdentifier<?>> result = new LinkedHashSet<>();
+        for (CategoryIdentifier<?> identifier : candidates) {
+            Configuration<?> configuration = categories.get(identifier);
+            if (configuration != null && configuration.isWorkstation(stack)) {
+                result.add(identifier);
+            }
+        }
+        return result;
+    }
+    
+    private void onWorkstationsAdded(Configuration<?> configuration, List<EntryIngredient> stations) {
+        synchronized (this) {
+            // Configurations being reloaded are indexed on endReload
+            if (this.categories.get(configuration.getCategoryIdentifier()) != configuration) return;
+            Long2ObjectMap<List<CategoryIdentifier<?>>> workstationIndex = new Long2ObjectOpenHashMap<>(this.workstationIndex);
+            indexWorkstations(workstationIndex, configuration.getCategoryIdentifier(), stations);
+            this.workstationIndex = workstationIndex;
+        }
+    }
+    
+    private static void indexWorkstations(Long2ObjectMap<List<CategoryIdentifier<?>>> workstationIndex, CategoryIdentifier<?> identifier, List<EntryIngredient> stations) {
+        synchronized (stations) {
+            for (EntryIngredient station : stations) {
+                for (EntryStack<?> stack : station) {
+                    long hash = EntryStacks.hashFuzzy(stack);
+                    List<CategoryIdentifier<?>> identifiers = workstationIndex.get(hash);
+                    if (identifiers == null) {
+                        workstationIndex.put(hash, Collections.singletonList(identifier));
+                    } else if (!identifiers.contains(identifier)) {
+                        // Lists are never modified in place, since the index is copied on write
+                        List<CategoryIdentifier<?>> copy = new ArrayList<>(identifiers.size() + 1);
+                        copy.addAll(identifiers);
+                        copy.add(identifier);
+                        workstationIndex.put(hash, copy);
+                    }
+                }
+            }
+        }
+    }
+    
     @Override
     public Iterator<CategoryConfiguration<?>> iterator() {
-        return (Iterator) categories.values().iterator();
+        return (Iterator) categories().values().iterator();
     }
     
     @Override
     public int size() {
-        return categories.size();
+        return categories().size();
     }
     
     private static class Configuration<T extends Display> implements CategoryConfiguration<T> {
+        private final CategoryRegistryImpl registry;
         private final DisplayCategory<T> category;
         private final List<EntryIngredient> workstations = Collections.synchronizedList(new ArrayList<>());
         
         private Optional<ButtonArea> plusButtonArea = Optional.of(ButtonArea.defaultArea());
         
-        public Configuration(DisplayCategory<T> category) {
+        public Configuration(CategoryRegistryImpl registry, DisplayCategory<T> category) {
+            this.registry = registry;
             this.category = category;
         }
         
         @Override
         public void addWorkstations(EntryIngredient... stations) {
-            this.workstations.addAll(Arrays.asList(stations));
+            List<EntryIngredient> list = Arrays.asList(stations);
+            this.workstations.addAll(list);
+            this.registry.onWorkstationsAdded(this, list);
+        }
+        
+        private boolean isWorkstation(EntryStack<?> stack) {
+            synchronized (workstations) {
+                for (EntryIngredient ingredient : workstations) {
+                    if (EntryIngredients.testFuzzy(ingredient, stack)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
         }
         
         @Override
@@ -33,86 +33,115 @@ import me.shedaniel.rei.api.client.registry.display.visibility.DisplayVisibility
 import me.shedaniel.rei.api.common.category.CategoryIdentifier;
 import me.shedaniel.rei.api.common.display.Display;
 import me.shedaniel.rei.impl.common.registry.RecipeManagerContextImpl;
+import me.shedaniel.rei.impl.common.registry.RegistrationBuffer;
+import me.shedaniel.rei.impl.common.registry.ReloadGeneration;
+import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.InteractionResult;
 import net.minecraft.world.item.crafting.Recipe;
 import org.apache.commons.lang3.mutable.MutableInt;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
 public class DisplayRegistryImpl extends RecipeManagerContextImpl<REIClientPlugin> implements DisplayRegistry {
-    private final Map<CategoryIdentifier<?>, List<Display>> displays = new ConcurrentHashMap<>();
-    private final Map<CategoryIdentifier<?>, List<LiveDisplayGenerator<?>>> displayGenerators = new ConcurrentHashMap<>();
-    private final List<LiveDisplayGenerator<?>> globalDisplayGenerators = new ArrayList<>();
-    private final List<DisplayVisibilityPredicate> visibilityPredicates = new ArrayList<>();
-    private final List<DisplayFiller<?, ?>> fillers = new ArrayList<>();
-    private final MutableInt displayCount = new MutableInt(0);
+    private volatile Generation published = new Generation();
+    private volatile Generation building;
+    private volatile Thread reloadThread;
+    private final AtomicInteger visibilityGeneration = new AtomicInteger();
     
     public DisplayRegistryImpl() {
         super(RecipeManagerContextImpl.supplier());
     }
     
+    private Generation generation() {
+        Generation building = this.building;
+        return building != null && !ReloadGeneration.readsPublished(reloadThread) ? building : published;
+    }
+    
     @Override
     public void acceptPlugin(REIClientPlugin plugin) {
         plugin.registerDisplays(this);
     }
     
+    @Override
+    public boolean isConcurrent() {
+        return true;
+    }
+    
     @Override
     public int displaySize() {
-        return displayCount.getValue();
+        return generation().displayCount.getValue();
     }
     
     @Override
     public void registerDisplay(Display display) {
-        displays.computeIfAbsent(display.getCategoryIdentifier(), location -> new ArrayList<>())
-                .add(display);
-        displayCount.increment();
+        RegistrationBuffer.run(() -> {
+            Generation generation = generation();
+            generation.displays.computeIfAbsent(display.getCategoryIdentifier(), location -> new ArrayList<>())
+                    .add(display);
+            generation.displayCount.increment();
+            visibilityGeneration.incrementAndGet();
+        });
     }
     
     public void registerDisplay(int index, Display display) {
-        displays.computeIfAbsent(display.getCategoryIdentifier(), location -> new ArrayList<>())
+        RegistrationBuffer.run(() -> registerDisplay(generation(), index, display));
+    }
+    
+    private void registerDisplay(Generation generation, int index, Display display) {
+        generation.displays.computeIfAbsent(display.getCategoryIdentifier(), location -> new ArrayList<>())
                 .add(index, display);
-        displayCount.increment();
+        generation.displayCount.increment();
+        visibilityGeneration.incrementAndGet();
     }
     
     @Override
     public Map<CategoryIdentifier<?>, List<Display>> getAllDisplays() {
-        return Collections.unmodifiableMap(displays);
+        return Collections.unmodifiableMap(generation().displays);
     }
     
     @Override
     public <A extends Display> void registerGlobalDisplayGenerator(LiveDisplayGenerator<A> generator) {
-        globalDisplayGenerators.add(generator);
+        RegistrationBuffer.run(() -> generation().globalDisplayGenerators.add(generator));
     }
     
     @Override
     public <A extends Display> void registerDisplayGenerator(CategoryIdentifier<A> categoryId, LiveDisplayGenerator<A> generator) {
-        displayGenerators.computeIfAbsent(categoryId, location -> new ArrayList<>())
-                .add(generator);
+        RegistrationBuffer.run(() -> generation().displayGenerators.computeIfAbsent(categoryId, location -> new ArrayList<>())
+                .add(generator));
     }
     
     @Override
     public Map<CategoryIdentifier<?>, List<LiveDisplayGenerator<?>>> getCategoryDisplayGenerators() {
-        return Collections.unmodifiableMap(displayGenerators);
+        return Collections.unmodifiableMap(generation().displayGenerators);
     }
     
     @Override
     public List<LiveDisplayGenerator<?>> getGlobalDisplayGenerators() {
-        return Collections.unmodifiableList(globalDisplayGenerators);
+        return Collections.unmodifiableList(generation().globalDisplayGenerators);
     }
     
     @Override
     public void registerVisibilityPredicate(DisplayVisibilityPredicate predicate) {
-        visibilityPredicates.add(predicate);
-        visibilityPredicates.sort(Comparator.reverseOrder());
+        RegistrationBuffer.run(() -> {
+            List<DisplayVisibilityPredicate> visibilityPredicates = generation().visibilityPredicates;
+            visibilityPredicates.add(predicate);
+            visibilityPredicates.sort(Comparator.reverseOrder());
+            visibilityGeneration.incrementAndGet();
+        });
     }
     
     @Override
     public boolean isDisplayVisible(Display display) {
         DisplayCategory<Display> category = (DisplayCategory<Display>) CategoryRegistry.getInstance().get(display.getCategoryIdentifier()).getCategory();
-        for (DisplayVisibilityPredicate predicate : visibilityPredicates) {
+        return isDisplayVisible(generation().visibilityPredicates, category, display);
+    }
+    
+    private static boolean isDisplayVisible(List<DisplayVisibilityPredicate> predicates, DisplayCategory<Display> category, Display display) {
+        for (DisplayVisibilityPredicate predicate : predicates) {
             try {
                 InteractionResult result = predicate.handleDisplay(category, display);
                 if (result != InteractionResult.PASS) {
@@ -126,45 +155,154 @@ public class DisplayRegistryImpl extends RecipeManagerContextImpl<REIClientPlugi
         return true;
     }
     
+    @Override
+    public <D extends Display> List<D> getVisibleDisplays(CategoryIdentifier<D> categoryId) {
+        Generation generation = generation();
+        int visibilityGeneration = this.visibilityGeneration.get();
+        VisibleDisplays visibleDisplays = generation.visibleDisplays.get(categoryId);
+        if (visibleDisplays == null || visibleDisplays.generation != visibilityGeneration) {
+            visibleDisplays = new VisibleDisplays(visibilityGeneration, collectVisibleDisplays(generation, categoryId));
+            generation.visibleDisplays.put(categoryId, visibleDisplays);
+        }
+        return (List<D>) visibleDisplays.displays;
+    }
+    
+    private List<Display> collectVisibleDisplays(Generation generation, CategoryIdentifier<?> categoryId) {
+        List<Display> displays = generation.displays.get(categoryId);
+        if (displays == null || displays.isEmpty()) return Collections.emptyList();
+        DisplayCategory<Display> category = (DisplayCategory<Display>) CategoryRegistry.getInstance().get(categoryId).getCategory();
+        List<DisplayVisibilityPredicate> predicates = generation.visibilityPredicates;
+        if (predicates.isEmpty()) return Collections.unmodifiableList(new ArrayList<>(displays));
+        List<Display> visible = new ArrayList<>();
+        for (Display display : displays) {
+            if (isDisplayVisible(predicates, category, display)) {
+                visible.add(display);
+            }
+        }
+        return visible.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(visible);
+    }
+    
+    @Override
+    public void invalidateVisibility() {
+        visibilityGeneration.incrementAndGet();
+    }
+    
     @Override
     public List<DisplayVisibilityPredicate> getVisibilityPredicates() {
-        return Collections.unmodifiableList(visibilityPredicates);
+        return Collections.unmodifiableList(generation().visibilityPredicates);
     }
     
     @Override
     public <T, D extends Display> void registerFiller(Class<T> typeClass, Predicate<? extends T> predicate, Function<T, D> filler) {
-        fillers.add(new DisplayFiller<>(typeClass, (Predicate<T>) predicate, filler));
+        RegistrationBuffer.run(() -> generation().fillers.add(new DisplayFiller<>(typeClass, (Predicate<T>) predicate, filler)));
     }
     
     @Override
     public void startReload() {
         super.startReload();
-        this.displays.clear();
-        this.displayGenerators.clear();
-        this.visibilityPredicates.clear();
-        this.fillers.clear();
-        this.displayCount.setValue(0);
+        this.building = new Generation();
+        this.reloadThread = Thread.currentThread();
     }
     
     @Override
     public void endReload() {
-        if (!fillers.isEmpty()) {
+        if (!building.fillers.isEmpty()) {
             List<Recipe<?>> allSortedRecipes = getAllSortedRecipes();
             for (int i = allSortedRecipes.size() - 1; i >= 0; i--) {
-                Recipe<?> recipe = allSortedRecipes.get(i);
-                Collection<Display> displays = tryFillDisplay(recipe);
-                for (Display display : displays) {
-                    registerDisplay(0, display);
+                fillRecipe(building, allSortedRecipes.get(i));
+            }
+        }
+        this.published = building;
+        this.building = null;
+        this.reloadThread = null;
+        this.visibilityGeneration.incrementAndGet();
+        super.endReload();
+    }
+    
+    @Override
+    public void abortReload() {
+        super.abortReload();
+        this.building = null;
+        this.reloadThread = null;
+    }
+    
+    private void fillRecipe(Generation generation, Recipe<?> recipe) {
+        Collection<Display> displays = tryFillDisplay(generation, recipe);
+        if (!displays.isEmpty()) {
+            generation.filledDisplays.put(recipe.getId(), displays);
+        }
+        for (Display display : displays) {
+            registerDisplay(generation, 0, display);
+        }
+    }
+    
+    /**
+     * Re-fills the displays of the added, changed and removed recipes only, and publishes the result with a single swap.
+     * Displays registered by plugins directly are kept as is, filled displays are laid out in sorted recipe order
+     * like a full reload does.
+     */
+    @Override
+    public void applyRecipeDiff(RecipeDiff diff) {
+        super.applyRecipeDiff(diff);
+        Generation generation = published.copy();
+        Set<Display> previouslyFilled = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Collection<Display> displays : generation.filledDisplays.values()) {
+            previouslyFilled.addAll(displays);
+        }
+        for (ResourceLocation id : diff.getRemoved()) {
+            generation.filledDisplays.remove(id);
+        }
+        for (Recipe<?> recipe : diff.getChanged()) {
+            generation.filledDisplays.remove(recipe.getId());
+        }
+        if (!generation.fillers.isEmpty()) {
+            for (Recipe<?> recipe : diff.getChanged()) {
+                putFilledDisplays(generation, recipe);
+            }
+            for (Recipe<?> recipe : diff.getAdded()) {
+                putFilledDisplays(generation, recipe);
+            }
+        }
+        // Rebuild the filled prefix of every category, only the fillers run again for the changed recipes
+        if (!previouslyFilled.isEmpty()) {
+            for (List<Display> displays : generation.displays.values()) {
+                int size = displays.size();
+                if (displays.removeIf(previouslyFilled::contains)) {
+                    generation.displayCount.subtract(size - displays.size());
+                }
+            }
+        }
+        if (!generation.filledDisplays.isEmpty()) {
+            List<Recipe<?>> allSortedRecipes = getAllSortedRecipes();
+            for (int i = allSortedRecipes.size() - 1; i >= 0; i--) {
+                Collection<Display> displays = generation.filledDisplays.get(allSortedRecipes.get(i).getId());
+                if (displays != null) {
+                    for (Display display : displays) {
+                        registerDisplay(generation, 0, display);
+                    }
                 }
             }
         }
+        this.published = generation;
+        this.visibilityGeneration.incrementAndGet();
+    }
+    
+    private void putFilledDisplays(Generation generation, Recipe<?> recipe) {
+        Collection<Display> displays = tryFillDisplay(generation, recipe);
+        if (!displays.isEmpty()) {
+            generation.filledDisplays.put(recipe.getId(), displays);
+        }
     }
     
     @Override
     public <T> Collection<Display> tryFillDisplay(T value) {
+        return tryFillDisplay(generation(), value);
+    }
+    
+    private <T> Collection<Display> tryFillDisplay(Generation generation, T value) {
         if (value instanceof Display) return Collections.singleton((Display) value);
         List<Display> displays = null;
-        for (DisplayFiller<?, ?> filler : fillers) {
+        for (DisplayFiller<?, ?> filler : generation.fillers) {
             Display display = tryFillDisplayGenerics(filler, value);
             if (display != null) {
                 if (displays == null) displays = Collections.singletonList(display);
@@ -192,6 +330,39 @@ public class DisplayRegistryImpl extends RecipeManagerContextImpl<REIClientPlugi
         return null;
     }
     
+    private static class Generation {
+        private final Map<CategoryIdentifier<?>, List<Display>> displays = new ConcurrentHashMap<>();
+        private final Map<CategoryIdentifier<?>, List<LiveDisplayGenerator<?>>> displayGenerators = new ConcurrentHashMap<>();
+        private final List<LiveDisplayGenerator<?>> globalDisplayGenerators = new ArrayList<>();
+        private final List<DisplayVisibilityPredicate> visibilityPredicates = new ArrayList<>();
+        private final List<DisplayFiller<?, ?>> fillers = new ArrayList<>();
+        private final MutableInt displayCount = new MutableInt(0);
+        private final Map<CategoryIdentifier<?>, VisibleDisplays> visibleDisplays = new ConcurrentHashMap<>();
+        private final Map<ResourceLocation, Collection<Display>> filledDisplays = new HashMap<>();
+        
+        private Generation copy() {
+            Generation copy = new Generation();
+            displays.forEach((categoryId, list) -> copy.displays.put(categoryId, new ArrayList<>(list)));
+            displayGenerators.forEach((categoryId, list) -> copy.displayGenerators.put(categoryId, new ArrayList<>(list)));
+            copy.globalDisplayGenerators.addAll(globalDisplayGenerators);
+            copy.visibilityPredicates.addAll(visibilityPredicates);
+            copy.fillers.addAll(fillers);
+            copy.displayCount.setValue(displayCount.getValue());
+            copy.filledDisplays.putAll(filledDisplays);
+            return copy;
+        }
+    }
+    
+    private static class VisibleDisplays {
+        private final int generation;
+        private final List<Display> displays;
+        
+        public VisibleDisplays(int generation, List<Display> displays) {
+            this.generation = generation;
+            this.displays = displays;
+        }
+    }
+    
     private static class DisplayFiller<T, D extends Display> {
         private final Class<T> typeClass;
         private final Predicate<T> predicate;
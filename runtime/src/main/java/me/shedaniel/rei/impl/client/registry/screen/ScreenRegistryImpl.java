@@ -40,6 +40,7 @@ import me.shedaniel.rei.api.common.category.CategoryIdentifier;
 import me.shedaniel.rei.api.common.entry.EntryStack;
 import me.shedaniel.rei.api.common.util.CollectionUtils;
 import me.shedaniel.rei.api.common.util.EntryStacks;
+import me.shedaniel.rei.impl.common.registry.ReloadGeneration;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
 import net.minecraft.client.Minecraft;
@@ -54,20 +55,28 @@ import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 @ApiStatus.Internal
 @Environment(EnvType.CLIENT)
 public class ScreenRegistryImpl implements ScreenRegistry {
-    private Multimap<Class<? extends Screen>, ClickArea<?>> clickAreas = HashMultimap.create();
-    private List<DraggableStackProvider<Screen>> draggableStacksProviders = new ArrayList<>();
-    private List<DraggableStackVisitor<Screen>> draggableStacksVisitors = new ArrayList<>();
-    private List<FocusedStackProvider> focusedStackProviders = new ArrayList<>();
-    private List<OverlayDecider> deciders = new ArrayList<>();
-    private Map<Class<?>, List<OverlayDecider>> cache = new HashMap<>();
-    private ExclusionZones exclusionZones;
+    private volatile Generation published = new Generation();
+    @Nullable
+    private volatile Generation building;
+    @Nullable
+    private volatile Thread reloadThread;
+    private Map<Class<?>, OverlayDecision> overlayDecisions = new ConcurrentHashMap<>();
+    // Bumped whenever the deciders change, decisions computed against older deciders are ignored
+    private final AtomicInteger decidersGeneration = new AtomicInteger();
     private Class<? extends Screen> tmpScreen;
     
+    private Generation generation() {
+        Generation building = this.building;
+        return building != null && !ReloadGeneration.readsPublished(reloadThread) ? building : published;
+    }
+    
     @Override
     public void acceptPlugin(REIClientPlugin plugin) {
         plugin.registerScreens(this);
@@ -76,26 +85,59 @@ public class ScreenRegistryImpl implements ScreenRegistry {
     
     @Override
     public <R extends Screen> List<OverlayDecider> getDeciders(R screen) {
+        return getDeciders(generation(), screen);
+    }
+    
+    private <R extends Screen> List<OverlayDecider> getDeciders(Generation generation, R screen) {
         Class<? extends Screen> screenClass = screen.getClass();
-        List<OverlayDecider> possibleCached = cache.get(screenClass);
+        List<OverlayDecider> possibleCached = generation.cache.get(screenClass);
         if (possibleCached != null) {
             return possibleCached;
         }
         
         tmpScreen = screenClass;
-        List<OverlayDecider> deciders = CollectionUtils.filterToList(this.deciders, this::filterResponsible);
-        cache.put(screenClass, deciders);
+        List<OverlayDecider> deciders = CollectionUtils.filterToList(generation.deciders, this::filterResponsible);
+        generation.cache.put(screenClass, deciders);
         tmpScreen = null;
         return deciders;
     }
     
+    /**
+     * Returns the first non-pass result of the deciders handling the screen, cached per screen class until the deciders change.
+     *
+     * @param screen the screen
+     * @return whether the screen should be overlaid
+     */
+    public InteractionResult shouldScreenBeOverlaid(Screen screen) {
+        Class<? extends Screen> screenClass = screen.getClass();
+        int generation = decidersGeneration.get();
+        OverlayDecision cached = overlayDecisions.get(screenClass);
+        if (cached != null && cached.generation == generation) {
+            return cached.result;
+        }
+        Generation registry = generation();
+        InteractionResult decision = InteractionResult.PASS;
+        for (OverlayDecider decider : getDeciders(registry, screen)) {
+            InteractionResult result = decider.shouldScreenBeOverlaid(screenClass);
+            if (result != InteractionResult.PASS) {
+                decision = result;
+                break;
+            }
+        }
+        // Decisions made from a partial list of deciders are not cached
+        if (registry == published && decidersGeneration.get() == generation) {
+            overlayDecisions.put(screenClass, new OverlayDecision(decision, generation));
+        }
+        return decision;
+    }
+    
     private boolean filterResponsible(OverlayDecider handler) {
         return handler.isHandingScreen(tmpScreen);
     }
     
     @Override
     public List<OverlayDecider> getDeciders() {
-        return Collections.unmodifiableList(deciders);
+        return Collections.unmodifiableList(generation().deciders);
     }
     
     @Override
@@ -127,7 +169,7 @@ public class ScreenRegistryImpl implements ScreenRegistry {
     @Nullable
     @Override
     public <T extends Screen> EntryStack<?> getFocusedStack(T screen, Point mouse) {
-        for (FocusedStackProvider provider : focusedStackProviders) {
+        for (FocusedStackProvider provider : generation().focusedStackProviders) {
             InteractionResultHolder<EntryStack<?>> result = Objects.requireNonNull(provider.provide(screen, mouse));
             if (result.getResult() == InteractionResult.SUCCESS) {
                 if (result != null && !result.getObject().isEmpty())
@@ -142,9 +184,12 @@ public class ScreenRegistryImpl implements ScreenRegistry {
     
     @Override
     public void registerDecider(OverlayDecider decider) {
-        deciders.add(decider);
-        deciders.sort(Comparator.reverseOrder());
-        cache.clear();
+        Generation generation = generation();
+        generation.deciders.add(decider);
+        generation.deciders.sort(Comparator.reverseOrder());
+        generation.cache.clear();
+        decidersGeneration.incrementAndGet();
+        overlayDecisions.clear();
         tmpScreen = null;
         registerDraggableStackProvider(DraggableStackProviderWidget.from(context ->
                 Widgets.walk(context.getScreen().children(), DraggableStackProviderWidget.class::isInstance)));
@@ -154,35 +199,38 @@ public class ScreenRegistryImpl implements ScreenRegistry {
     
     @Override
     public void registerFocusedStack(FocusedStackProvider provider) {
+        List<FocusedStackProvider> focusedStackProviders = generation().focusedStackProviders;
         focusedStackProviders.add(provider);
         focusedStackProviders.sort(Comparator.reverseOrder());
     }
     
     @Override
     public <T extends Screen> void registerDraggableStackProvider(DraggableStackProvider<T> provider) {
+        List<DraggableStackProvider<Screen>> draggableStacksProviders = generation().draggableStacksProviders;
         draggableStacksProviders.add((DraggableStackProvider<Screen>) provider);
         draggableStacksProviders.sort(Comparator.reverseOrder());
     }
     
     @Override
     public <T extends Screen> void registerDraggableStackVisitor(DraggableStackVisitor<T> visitor) {
+        List<DraggableStackVisitor<Screen>> draggableStacksVisitors = generation().draggableStacksVisitors;
         draggableStacksVisitors.add((DraggableStackVisitor<Screen>) visitor);
         draggableStacksVisitors.sort(Comparator.reverseOrder());
     }
     
     @Override
     public Iterable<DraggableStackProvider<Screen>> getDraggableProviders() {
-        return Collections.unmodifiableList(draggableStacksProviders);
+        return Collections.unmodifiableList(generation().draggableStacksProviders);
     }
     
     @Override
     public Iterable<DraggableStackVisitor<Screen>> getDraggableVisitors() {
-        return Collections.unmodifiableList(draggableStacksVisitors);
+        return Collections.unmodifiableList(generation().draggableStacksVisitors);
     }
     
     @Override
     public ExclusionZones exclusionZones() {
-        return exclusionZones;
+        return generation().exclusionZones;
     }
     
     @Override
@@ -196,14 +244,14 @@ public class ScreenRegistryImpl implements ScreenRegistry {
     
     @Override
     public <T extends Screen> void registerClickArea(Class<? extends T> screenClass, ClickArea<T> area) {
-        clickAreas.put(screenClass, area);
+        generation().clickAreas.put(screenClass, area);
     }
     
     @Override
     @Nullable
     public <T extends Screen> Set<CategoryIdentifier<?>> handleClickArea(Class<T> screenClass, ClickArea.ClickAreaContext<T> context) {
         Mutable<Set<CategoryIdentifier<?>>> categories = new MutableObject<>(null);
-        for (ClickArea<?> area : this.clickAreas.get(screenClass)) {
+        for (ClickArea<?> area : generation().clickAreas.get(screenClass)) {
             ClickArea.Result result = ((ClickArea<T>) area).handle(context);
             
             if (result.isSuccessful()) {
@@ -218,19 +266,34 @@ public class ScreenRegistryImpl implements ScreenRegistry {
     
     @Override
     public void startReload() {
-        clickAreas.clear();
-        deciders.clear();
-        cache.clear();
-        focusedStackProviders.clear();
-        draggableStacksProviders.clear();
-        draggableStacksVisitors.clear();
+        this.building = new Generation();
+        this.reloadThread = Thread.currentThread();
         tmpScreen = null;
         
         registerDefault();
     }
     
+    @Override
+    public void endReload() {
+        this.published = building;
+        this.building = null;
+        this.reloadThread = null;
+        // Drop decisions made against the previous deciders
+        decidersGeneration.incrementAndGet();
+        overlayDecisions.clear();
+    }
+    
+    @Override
+    public void abortReload() {
+        // The published deciders were never touched, only the building ones are dropped
+        this.building = null;
+        this.reloadThread = null;
+    }
+    
     private void registerDefault() {
-        registerDecider(this.exclusionZones = new ExclusionZonesImpl());
+        ExclusionZones exclusionZones = new ExclusionZonesImpl();
+        generation().exclusionZones = exclusionZones;
+        registerDecider(exclusionZones);
         registerDecider(new OverlayDecider() {
             @Override
             public <R extends Screen> boolean isHandingScreen(Class<R> screen) {
@@ -264,4 +327,24 @@ public class ScreenRegistryImpl implements ScreenRegistry {
             }
         });
     }
+    
+    private static class Generation {
+        private final Multimap<Class<? extends Screen>, ClickArea<?>> clickAreas = HashMultimap.create();
+        private final List<DraggableStackProvider<Screen>> draggableStacksProviders = new ArrayList<>();
+        private final List<DraggableStackVisitor<Screen>> draggableStacksVisitors = new ArrayList<>();
+        private final List<FocusedStackProvider> focusedStackProviders = new ArrayList<>();
+        private final List<OverlayDecider> deciders = new ArrayList<>();
+        private final Map<Class<?>, List<OverlayDecider>> cache = new HashMap<>();
+        private ExclusionZones exclusionZones;
+    }
+    
+    private static class OverlayDecision {
+        private final InteractionResult result;
+        private final int generation;
+        
+        private OverlayDecision(InteractionResult result, int generation) {
+            this.result = result;
+            this.generation = generation;
+        }
+    }
 }
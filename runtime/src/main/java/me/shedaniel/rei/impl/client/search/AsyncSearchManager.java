@@ -23,7 +23,6 @@
 
 package me.shedaniel.rei.impl.client.search;
 
-import com.google.common.collect.Lists;
 import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
 import it.unimi.dsi.fastutil.longs.LongSet;
 import me.shedaniel.rei.api.client.config.ConfigManager;
@@ -33,21 +32,23 @@ import me.shedaniel.rei.api.client.search.SearchFilter;
 import me.shedaniel.rei.api.client.search.SearchProvider;
 import me.shedaniel.rei.api.client.view.Views;
 import me.shedaniel.rei.api.common.entry.EntryStack;
-import me.shedaniel.rei.api.common.util.CollectionUtils;
 import me.shedaniel.rei.api.common.util.EntryStacks;
 import me.shedaniel.rei.impl.client.gui.ContainerScreenOverlay;
+import me.shedaniel.rei.impl.common.util.WorkerPool;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
 
 public class AsyncSearchManager {
+    // The configured partition size seeds the chunk size, until the cost per stack has been measured
+    private static final WorkerPool.Workload WORKLOAD = new WorkerPool.Workload("search", () -> ConfigObject.getInstance().getAsyncSearchPartitionSize());
     private final Supplier<List<EntryStack<?>>> stacksProvider;
     private final Supplier<Predicate<EntryStack<?>>> additionalPredicateSupplier;
     private final UnaryOperator<EntryStack<?>> transformer;
@@ -55,6 +56,7 @@ public class AsyncSearchManager {
     private SearchFilter filter;
     private boolean dirty = false;
     private List<EntryStack<?>> last;
+    private final AtomicInteger asyncSearchId = new AtomicInteger();
     
     public AsyncSearchManager(Supplier<List<EntryStack<?>>> stacksProvider, Supplier<Predicate<EntryStack<?>>> additionalPredicateSupplier, UnaryOperator<EntryStack<?>> transformer) {
         this.stacksProvider = stacksProvider;
@@ -63,7 +65,11 @@ public class AsyncSearchManager {
     }
     
     public static AsyncSearchManager createDefault() {
-        return new AsyncSearchManager(EntryRegistry.getInstance()::getPreFilteredList, () -> {
+        return createDefault(EntryRegistry.getInstance()::getPreFilteredList);
+    }
+    
+    public static AsyncSearchManager createDefault(Supplier<List<EntryStack<?>>> stacksProvider) {
+        return new AsyncSearchManager(stacksProvider, () -> {
             boolean checkCraftable = ConfigManager.getInstance().isCraftableOnlyEnabled() && !ContainerScreenOverlay.getInstance().inventoryStacks.isEmpty();
             LongSet workingItems = checkCraftable ? new LongOpenHashSet() : null;
             if (checkCraftable) {
@@ -99,27 +105,7 @@ public class AsyncSearchManager {
             
             if (!stacks.isEmpty()) {
                 if (ConfigObject.getInstance().shouldAsyncSearch() && stacks.size() > searchPartitionSize * 4) {
-                    List<CompletableFuture<List<EntryStack<?>>>> futures = Lists.newArrayList();
-                    for (Iterable<EntryStack<?>> partitionStacks : CollectionUtils.partition(stacks, searchPartitionSize)) {
-                        futures.add(CompletableFuture.supplyAsync(() -> {
-                            List<EntryStack<?>> filtered = Lists.newArrayList();
-                            for (EntryStack<?> stack : partitionStacks) {
-                                if (matches(stack) && additionalPredicate.test(stack)) {
-                                    filtered.add(transformer.apply(stack));
-                                }
-                            }
-                            return filtered;
-                        }));
-                    }
-                    try {
-                        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
-                    } catch (InterruptedException | ExecutionException | TimeoutException e) {
-                        e.printStackTrace();
-                    }
-                    for (CompletableFuture<List<EntryStack<?>>> future : futures) {
-                        List<EntryStack<?>> now = future.getNow(null);
-                        if (now != null) last.addAll(now);
-                    }
+                    last.addAll(WorkerPool.filterAndMap(WORKLOAD, stacks, stack -> matches(stack) && additionalPredicate.test(stack), transformer, () -> false));
                 } else {
                     for (EntryStack<?> stack : stacks) {
                         if (matches(stack) && additionalPredicate.test(stack)) {
@@ -135,6 +121,25 @@ public class AsyncSearchManager {
         return last;
     }
     
+    /**
+     * Searches on the worker pool, cancelling the previous asynchronous search of this manager.
+     * The additional predicate is resolved on the calling thread, while the stacks are resolved on the worker pool
+     * so that providers copying large lists do not block the calling thread.
+     *
+     * @return the future of the matching stacks, the result is partial if a newer search has been started
+     */
+    public CompletableFuture<List<EntryStack<?>>> getAsync() {
+        int searchId = asyncSearchId.incrementAndGet();
+        SearchFilter filter = this.filter;
+        Predicate<EntryStack<?>> additionalPredicate = additionalPredicateSupplier.get();
+        BooleanSupplier cancelled = () -> asyncSearchId.get() != searchId;
+        return CompletableFuture.supplyAsync(() -> {
+            if (cancelled.getAsBoolean()) return Collections.<EntryStack<?>>emptyList();
+            return WorkerPool.filterAndMap(WORKLOAD, stacksProvider.get(),
+                    stack -> filter.test(stack) && additionalPredicate.test(stack), transformer, cancelled);
+        }, WorkerPool.getPool());
+    }
+    
     public boolean matches(EntryStack<?> stack) {
         return filter.test(stack);
     }
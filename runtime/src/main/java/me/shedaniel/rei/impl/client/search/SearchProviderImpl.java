@@ -27,6 +27,7 @@ import me.shedaniel.rei.api.client.search.SearchFilter;
 import me.shedaniel.rei.api.client.search.SearchProvider;
 import me.shedaniel.rei.api.common.entry.EntryStack;
 import me.shedaniel.rei.impl.client.search.argument.Argument;
+import me.shedaniel.rei.impl.client.search.argument.ArgumentsMatcher;
 import me.shedaniel.rei.impl.client.search.argument.CompoundArgument;
 
 import java.util.List;
@@ -45,16 +46,18 @@ public class SearchProviderImpl implements SearchProvider {
     
     public static class SearchFilterImpl implements SearchFilter {
         private final List<CompoundArgument> arguments;
+        private final ArgumentsMatcher matcher;
         private final String filter;
         
         public SearchFilterImpl(List<CompoundArgument> arguments, String searchTerm) {
             this.arguments = arguments;
+            this.matcher = ArgumentsMatcher.compile(arguments);
             this.filter = searchTerm;
         }
         
         @Override
         public boolean test(EntryStack<?> stack) {
-            return Argument.matches(stack, arguments);
+            return matcher.matches(stack);
         }
         
         @Override
@@ -26,7 +26,6 @@ package me.shedaniel.rei.impl.client.search.argument;
 import com.google.common.base.MoreObjects;
 import com.google.common.collect.Lists;
 import me.shedaniel.rei.api.client.gui.config.SearchMode;
-import me.shedaniel.rei.api.common.entry.EntryStack;
 import me.shedaniel.rei.impl.client.search.argument.type.AlwaysMatchingArgumentType;
 import me.shedaniel.rei.impl.client.search.argument.type.ArgumentType;
 import me.shedaniel.rei.impl.client.search.argument.type.ArgumentTypesRegistry;
@@ -36,8 +35,6 @@ import net.fabricmc.api.Environment;
 import net.minecraft.util.IntRange;
 import net.minecraft.util.Unit;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.commons.lang3.mutable.Mutable;
-import org.apache.commons.lang3.mutable.MutableObject;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Nullable;
 
@@ -159,43 +156,6 @@ public class Argument<T, R> {
         }
     }
     
-    @ApiStatus.Internal
-    public static boolean matches(EntryStack<?> stack, List<CompoundArgument> compoundArguments) {
-        if (compoundArguments.isEmpty()) return true;
-        Mutable<?> mutable = new MutableObject<>();
-        
-        a:
-        for (CompoundArgument arguments : compoundArguments) {
-            for (AlternativeArgument argument : arguments) {
-                if (!matches(stack, argument, mutable)) {
-                    continue a;
-                }
-            }
-            
-            return true;
-        }
-        
-        return false;
-    }
-    
-    private static <T, R, Z, B> boolean matches(EntryStack<?> stack, AlternativeArgument alternativeArgument, Mutable<?> mutable) {
-        if (alternativeArgument.isEmpty()) return true;
-        
-        for (Argument<?, ?> argument : alternativeArgument) {
-            mutable.setValue(null);
-            
-            if (matches(argument.getArgument(), mutable, stack, argument.getText(), argument.filterData) == argument.isRegular()) {
-                return true;
-            }
-        }
-        
-        return false;
-    }
-    
-    private static <T, R, Z, B> boolean matches(ArgumentType<T, B> argumentType, Mutable<Z> data, EntryStack<?> stack, String filter, R filterData) {
-        return argumentType.matches((Mutable<B>) data, stack, filter, (T) filterData);
-    }
-    
     public ArgumentType<?, ?> getArgument() {
         return argumentType;
     }
@@ -204,6 +164,11 @@ public class Argument<T, R> {
         return text;
     }
     
+    @Nullable
+    public Object getFilterData() {
+        return filterData;
+    }
+    
     public boolean isRegular() {
         return regular;
     }
@@ -0,0 +1,193 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.shedaniel.rei.impl.client.search.argument;
+
+import me.shedaniel.rei.api.common.entry.EntryStack;
+import me.shedaniel.rei.impl.client.search.argument.type.ArgumentType;
+import me.shedaniel.rei.impl.client.search.argument.type.ArgumentTypesRegistry;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import org.apache.commons.lang3.mutable.MutableObject;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A flattened form of the baked {@link CompoundArgument}s, matching a stack is an OR over the groups,
+ * an AND over the terms of a group and an OR over the arguments of a term.
+ * <p>
+ * Every level is ordered by its estimated cost, and the per-stack data of each argument type is kept
+ * in thread-local slots, so it is computed at most once per stack however many arguments share the type.
+ */
+@ApiStatus.Internal
+@Environment(EnvType.CLIENT)
+public final class ArgumentsMatcher {
+    public static final ArgumentsMatcher ALWAYS = new ArgumentsMatcher(new int[]{0, 1}, new int[]{0, 0}, new Argument[0], new int[0]);
+    private static final ThreadLocal<MutableObject<Object>[]> SLOTS = new ThreadLocal<>();
+    private static final Comparator<Argument<?, ?>> ARGUMENT_ORDER = Comparator.comparingInt(argument -> argument.getArgument().getCost());
+    // Cheaper terms first, and longer search text first on ties as it is more likely to reject the stack
+    private static final Comparator<AlternativeArgument> TERM_ORDER = Comparator.<AlternativeArgument>comparingInt(ArgumentsMatcher::getTermCost)
+            .thenComparing(Comparator.<AlternativeArgument>comparingInt(ArgumentsMatcher::getTextLength).reversed());
+    private static final Comparator<CompoundArgument> GROUP_ORDER = Comparator.<CompoundArgument>comparingInt(ArgumentsMatcher::getGroupCost);
+    private final int[] groupStarts;
+    private final int[] termStarts;
+    private final ArgumentType<Object, Object>[] types;
+    private final String[] texts;
+    private final Object[] filterData;
+    private final boolean[] regular;
+    private final int[] slots;
+    private final int[] usedSlots;
+    private final int slotCount;
+    
+    @SuppressWarnings("unchecked")
+    private ArgumentsMatcher(int[] groupStarts, int[] termStarts, Argument<?, ?>[] arguments, int[] slots) {
+        this.groupStarts = groupStarts;
+        this.termStarts = termStarts;
+        this.types = new ArgumentType[arguments.length];
+        this.texts = new String[arguments.length];
+        this.filterData = new Object[arguments.length];
+        this.regular = new boolean[arguments.length];
+        this.slots = slots;
+        for (int i = 0; i < arguments.length; i++) {
+            this.types[i] = (ArgumentType<Object, Object>) arguments[i].getArgument();
+            this.texts[i] = arguments[i].getText();
+            this.filterData[i] = arguments[i].getFilterData();
+            this.regular[i] = arguments[i].isRegular();
+        }
+        this.usedSlots = Arrays.stream(slots).distinct().toArray();
+        this.slotCount = Arrays.stream(slots).max().orElse(-1) + 1;
+    }
+    
+    public static ArgumentsMatcher compile(List<CompoundArgument> compoundArguments) {
+        if (compoundArguments.isEmpty()) return ALWAYS;
+        List<CompoundArgument> groups = new ArrayList<>(compoundArguments);
+        groups.sort(GROUP_ORDER);
+        List<AlternativeArgument> terms = new ArrayList<>();
+        List<Argument<?, ?>> arguments = new ArrayList<>();
+        int[] groupStarts = new int[groups.size() + 1];
+        for (int i = 0; i < groups.size(); i++) {
+            groupStarts[i] = terms.size();
+            List<AlternativeArgument> groupTerms = new ArrayList<>(groups.get(i));
+            groupTerms.sort(TERM_ORDER);
+            terms.addAll(groupTerms);
+        }
+        groupStarts[groups.size()] = terms.size();
+        int[] termStarts = new int[terms.size() + 1];
+        for (int i = 0; i < terms.size(); i++) {
+            termStarts[i] = arguments.size();
+            List<Argument<?, ?>> termArguments = new ArrayList<>(terms.get(i));
+            termArguments.sort(ARGUMENT_ORDER);
+            arguments.addAll(termArguments);
+        }
+        termStarts[terms.size()] = arguments.size();
+        int[] slots = new int[arguments.size()];
+        List<ArgumentType<?, ?>> extraTypes = new ArrayList<>();
+        for (int i = 0; i < arguments.size(); i++) {
+            ArgumentType<?, ?> type = arguments.get(i).getArgument();
+            int slot = ArgumentTypesRegistry.ARGUMENT_TYPE_LIST.indexOf(type);
+            if (slot == -1) {
+                int extra = extraTypes.indexOf(type);
+                if (extra == -1) {
+                    extra = extraTypes.size();
+                    extraTypes.add(type);
+                }
+                slot = ArgumentTypesRegistry.ARGUMENT_TYPE_LIST.size() + extra;
+            }
+            slots[i] = slot;
+        }
+        return new ArgumentsMatcher(groupStarts, termStarts, arguments.toArray(new Argument[0]), slots);
+    }
+    
+    public boolean matches(EntryStack<?> stack) {
+        MutableObject<Object>[] data = prepareSlots();
+        for (int group = 0; group < groupStarts.length - 1; group++) {
+            if (matchesGroup(group, data, stack)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private boolean matchesGroup(int group, MutableObject<Object>[] data, EntryStack<?> stack) {
+        for (int term = groupStarts[group]; term < groupStarts[group + 1]; term++) {
+            if (!matchesTerm(term, data, stack)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private boolean matchesTerm(int term, MutableObject<Object>[] data, EntryStack<?> stack) {
+        int start = termStarts[term], end = termStarts[term + 1];
+        if (start == end) return true;
+        for (int i = start; i < end; i++) {
+            if (types[i].matches(data[slots[i]], stack, texts[i], filterData[i]) == regular[i]) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private MutableObject<Object>[] prepareSlots() {
+        MutableObject<Object>[] data = SLOTS.get();
+        if (data == null || data.length < slotCount) {
+            data = new MutableObject[Math.max(slotCount, ArgumentTypesRegistry.ARGUMENT_TYPE_LIST.size())];
+            for (int i = 0; i < data.length; i++) {
+                data[i] = new MutableObject<>();
+            }
+            SLOTS.set(data);
+        }
+        for (int slot : usedSlots) {
+            data[slot].setValue(null);
+        }
+        return data;
+    }
+    
+    private static int getGroupCost(CompoundArgument group) {
+        int cost = 0;
+        for (AlternativeArgument term : group) {
+            cost += getTermCost(term);
+        }
+        return cost;
+    }
+    
+    private static int getTermCost(AlternativeArgument term) {
+        int cost = 0;
+        for (Argument<?, ?> argument : term) {
+            cost += argument.getArgument().getCost();
+        }
+        return cost;
+    }
+    
+    private static int getTextLength(AlternativeArgument term) {
+        int length = 0;
+        for (Argument<?, ?> argument : term) {
+            length = Math.max(length, argument.getText().length());
+        }
+        return length;
+    }
+}
@@ -41,6 +41,11 @@ public final class AlwaysMatchingArgumentType extends ArgumentType<Unit, Unit> {
         return "always";
     }
     
+    @Override
+    public int getCost() {
+        return 0;
+    }
+    
     @Override
     public boolean matches(Mutable<Unit> data, EntryStack<?> stack, String searchText, Unit filterData) {
         return true;
@@ -54,6 +54,14 @@ public abstract class ArgumentType<T, R> {
         return SearchMode.PREFIX;
     }
     
+    /**
+     * Returns the estimated cost of computing the per-stack data of this type and matching against it,
+     * cheaper arguments are evaluated first so that expensive ones can be short-circuited.
+     */
+    public int getCost() {
+        return 10;
+    }
+    
     public ArgumentApplicableResult checkApplicable(String text, boolean forceGrammar) {
         String prefix = getPrefix();
         if (forceGrammar && !prefix.isEmpty()) {
@@ -48,6 +48,11 @@ public final class IdentifierArgumentType extends ArgumentType<Unit, String> {
         return "identifier";
     }
     
+    @Override
+    public int getCost() {
+        return 1;
+    }
+    
     @Override
     @Nullable
     public String getPrefix() {
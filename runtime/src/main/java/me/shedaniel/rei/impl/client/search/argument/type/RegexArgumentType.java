@@ -49,6 +49,11 @@ public final class RegexArgumentType extends ArgumentType<@Nullable Pattern, Str
         return "regex";
     }
     
+    @Override
+    public int getCost() {
+        return 12;
+    }
+    
     @Override
     public ArgumentApplicableResult checkApplicable(String text, boolean forceGrammar) {
         boolean inverted = false;
@@ -50,6 +50,11 @@ public final class TagArgumentType extends ArgumentType<Unit, String[]> {
         return "tag";
     }
     
+    @Override
+    public int getCost() {
+        return 4;
+    }
+    
     @Override
     @Nullable
     public String getPrefix() {
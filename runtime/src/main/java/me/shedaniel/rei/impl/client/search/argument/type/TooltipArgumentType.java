@@ -52,6 +52,11 @@ public final class TooltipArgumentType extends ArgumentType<Unit, String> {
         return "tooltip";
     }
     
+    @Override
+    public int getCost() {
+        return 50;
+    }
+    
     @Override
     @Nullable
     public String getPrefix() {
@@ -29,6 +29,7 @@ import me.shedaniel.rei.api.client.plugins.REIClientPlugin;
 import me.shedaniel.rei.api.client.subsets.SubsetsRegistry;
 import me.shedaniel.rei.api.common.entry.EntryStack;
 import me.shedaniel.rei.api.common.util.CollectionUtils;
+import me.shedaniel.rei.impl.common.registry.ReloadGeneration;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
 import net.minecraft.resources.ResourceLocation;
@@ -40,7 +41,16 @@ import java.util.*;
 @ApiStatus.Internal
 @Environment(EnvType.CLIENT)
 public class SubsetsRegistryImpl implements SubsetsRegistry {
-    private final Map<String, Set<EntryStack<?>>> paths = Maps.newHashMap();
+    private volatile Map<String, Set<EntryStack<?>>> paths = Maps.newHashMap();
+    @Nullable
+    private volatile Map<String, Set<EntryStack<?>>> building;
+    @Nullable
+    private volatile Thread reloadThread;
+    
+    private Map<String, Set<EntryStack<?>>> paths() {
+        Map<String, Set<EntryStack<?>>> building = this.building;
+        return building != null && !ReloadGeneration.readsPublished(reloadThread) ? building : paths;
+    }
     
     @Override
     public void acceptPlugin(REIClientPlugin plugin) {
@@ -49,13 +59,27 @@ public class SubsetsRegistryImpl implements SubsetsRegistry {
     
     @Override
     public void startReload() {
-        paths.clear();
+        this.building = Maps.newHashMap();
+        this.reloadThread = Thread.currentThread();
+    }
+    
+    @Override
+    public void endReload() {
+        this.paths = building;
+        this.building = null;
+        this.reloadThread = null;
+    }
+    
+    @Override
+    public void abortReload() {
+        this.building = null;
+        this.reloadThread = null;
     }
     
     @Override
     public List<String> getEntryPaths(EntryStack<?> stack) {
         List<String> strings = null;
-        for (Map.Entry<String, Set<EntryStack<?>>> entry : paths.entrySet()) {
+        for (Map.Entry<String, Set<EntryStack<?>>> entry : paths().entrySet()) {
             if (CollectionUtils.findFirstOrNullEqualsExact(entry.getValue(), stack) != null) {
                 if (strings == null)
                     strings = new ArrayList<>();
@@ -83,19 +107,19 @@ public class SubsetsRegistryImpl implements SubsetsRegistry {
     public Set<EntryStack<?>> getPathEntries(String path) {
         if (!isPathValid(path))
             throw new IllegalArgumentException("Illegal path: " + path);
-        return paths.get(path);
+        return paths().get(path);
     }
     
     @Override
     public Set<String> getPaths() {
-        return paths.keySet();
+        return paths().keySet();
     }
     
     @Override
     public Set<EntryStack<?>> getOrCreatePathEntries(String path) {
         Set<EntryStack<?>> paths = getPathEntries(path);
         if (paths == null) {
-            this.paths.put(path, Sets.newLinkedHashSet());
+            paths().put(path, Sets.newLinkedHashSet());
             paths = Objects.requireNonNull(getPathEntries(path));
         }
         return paths;
@@ -27,16 +27,27 @@ import com.google.common.collect.Iterators;
 import me.shedaniel.rei.api.client.plugins.REIClientPlugin;
 import me.shedaniel.rei.api.client.registry.transfer.TransferHandler;
 import me.shedaniel.rei.api.client.registry.transfer.TransferHandlerRegistry;
+import me.shedaniel.rei.impl.common.registry.ReloadGeneration;
 import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 @ApiStatus.Internal
 public class TransferHandlerRegistryImpl implements TransferHandlerRegistry {
-    private final List<TransferHandler> handlers = new ArrayList<>();
+    private volatile List<TransferHandler> handlers = new CopyOnWriteArrayList<>();
+    @Nullable
+    private volatile List<TransferHandler> building;
+    @Nullable
+    private volatile Thread reloadThread;
+    
+    private List<TransferHandler> handlers() {
+        List<TransferHandler> building = this.building;
+        return building != null && !ReloadGeneration.readsPublished(reloadThread) ? building : handlers;
+    }
     
     @Override
     public void acceptPlugin(REIClientPlugin plugin) {
@@ -45,17 +56,32 @@ public class TransferHandlerRegistryImpl implements TransferHandlerRegistry {
     
     @Override
     public void startReload() {
-        handlers.clear();
+        this.building = new CopyOnWriteArrayList<>();
+        this.reloadThread = Thread.currentThread();
+    }
+    
+    @Override
+    public void endReload() {
+        this.handlers = building;
+        this.building = null;
+        this.reloadThread = null;
+    }
+    
+    @Override
+    public void abortReload() {
+        this.building = null;
+        this.reloadThread = null;
     }
     
     @Override
     public void register(TransferHandler handler) {
+        List<TransferHandler> handlers = handlers();
         handlers.add(handler);
         handlers.sort(Comparator.reverseOrder());
     }
     
     @Override
     public Iterator<TransferHandler> iterator() {
-        return Iterators.unmodifiableIterator(handlers.iterator());
+        return Iterators.unmodifiableIterator(handlers().iterator());
     }
 }
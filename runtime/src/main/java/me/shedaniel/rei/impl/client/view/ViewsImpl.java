@@ -39,7 +39,6 @@ import me.shedaniel.rei.api.common.display.Display;
 import me.shedaniel.rei.api.common.entry.EntryIngredient;
 import me.shedaniel.rei.api.common.entry.EntryStack;
 import me.shedaniel.rei.api.common.util.CollectionUtils;
-import me.shedaniel.rei.api.common.util.EntryIngredients;
 import me.shedaniel.rei.api.common.util.EntryStacks;
 import org.jetbrains.annotations.ApiStatus;
 
@@ -56,26 +55,25 @@ public class ViewsImpl implements Views {
         List<EntryStack<?>> recipesFor = builder.getRecipesFor();
         List<EntryStack<?>> usagesFor = builder.getUsagesFor();
         
+        Set<CategoryIdentifier<?>> workstationCategories = new HashSet<>();
+        for (EntryStack<?> stack : usagesFor) {
+            workstationCategories.addAll(CategoryRegistry.getInstance().getWorkstationCategories(stack));
+        }
+        
         Map<DisplayCategory<?>, List<Display>> result = Maps.newLinkedHashMap();
         for (CategoryRegistry.CategoryConfiguration<?> categoryConfiguration : CategoryRegistry.getInstance()) {
             DisplayCategory<?> category = categoryConfiguration.getCategory();
             CategoryIdentifier<?> categoryId = categoryConfiguration.getCategoryIdentifier();
-            List<Display> allRecipesFromCategory = DisplayRegistry.getInstance().getDisplays((CategoryIdentifier<Display>) categoryId);
+            List<Display> allRecipesFromCategory = DisplayRegistry.getInstance().getVisibleDisplays((CategoryIdentifier<Display>) categoryId);
+            // Categories without any visible display are skipped wholesale
+            if (allRecipesFromCategory.isEmpty()) continue;
             
-            Set<Display> set = Sets.newLinkedHashSet();
             if (categories.contains(categoryId)) {
-                for (Display display : allRecipesFromCategory) {
-                    if (isDisplayVisible(display)) {
-                        set.add(display);
-                    }
-                }
-                if (!set.isEmpty()) {
-                    CollectionUtils.getOrPutEmptyList(result, category).addAll(set);
-                }
+                CollectionUtils.getOrPutEmptyList(result, category).addAll(allRecipesFromCategory);
                 continue;
             }
+            Set<Display> set = Sets.newLinkedHashSet();
             for (Display display : allRecipesFromCategory) {
-                if (!isDisplayVisible(display)) continue;
                 if (!recipesFor.isEmpty()) {
                     back:
                     for (List<? extends EntryStack<?>> results : display.getOutputEntries()) {
@@ -103,11 +101,8 @@ public class ViewsImpl implements Views {
                     }
                 }
             }
-            for (EntryStack<?> stack : usagesFor) {
-                if (isStackWorkStationOfCategory(categoryConfiguration, stack)) {
-                    set.addAll(CollectionUtils.filterToSet(allRecipesFromCategory, this::isDisplayVisible));
-                    break;
-                }
+            if (workstationCategories.contains(categoryId)) {
+                set.addAll(allRecipesFromCategory);
             }
             if (!set.isEmpty()) {
                 CollectionUtils.getOrPutEmptyList(result, category).addAll(set);
@@ -211,15 +206,6 @@ public class ViewsImpl implements Views {
         return craftables;
     }
     
-    private <T> boolean isStackWorkStationOfCategory(CategoryRegistry.CategoryConfiguration<?> category, EntryStack<T> stack) {
-        for (EntryIngredient ingredient : category.getWorkstations()) {
-            if (EntryIngredients.testFuzzy(ingredient, stack)) {
-                return true;
-            }
-        }
-        return false;
-    }
-    
     private boolean isDisplayVisible(Display display) {
         return DisplayRegistry.getInstance().isDisplayVisible(display);
     }
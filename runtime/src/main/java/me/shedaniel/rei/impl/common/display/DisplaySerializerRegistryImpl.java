@@ -28,50 +28,75 @@ import me.shedaniel.rei.api.common.display.Display;
 import me.shedaniel.rei.api.common.display.DisplaySerializer;
 import me.shedaniel.rei.api.common.display.DisplaySerializerRegistry;
 import me.shedaniel.rei.api.common.plugins.REIPlugin;
+import me.shedaniel.rei.impl.common.registry.ReloadGeneration;
 import net.minecraft.nbt.CompoundTag;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 
 public class DisplaySerializerRegistryImpl implements DisplaySerializerRegistry {
-    private final Map<CategoryIdentifier<?>, Holder<?>> serializers = new HashMap<>();
+    private volatile Map<CategoryIdentifier<?>, Holder<?>> serializers = new HashMap<>();
+    @Nullable
+    private volatile Map<CategoryIdentifier<?>, Holder<?>> building;
+    @Nullable
+    private volatile Thread reloadThread;
+    
+    private Map<CategoryIdentifier<?>, Holder<?>> serializers() {
+        Map<CategoryIdentifier<?>, Holder<?>> building = this.building;
+        return building != null && !ReloadGeneration.readsPublished(reloadThread) ? building : serializers;
+    }
     
     @Override
     public <D extends Display> void register(CategoryIdentifier<? extends D> categoryId, DisplaySerializer<D> serializer) {
-        Holder<D> holder = (Holder<D>) serializers.computeIfAbsent(categoryId, id -> new Holder<>());
+        Holder<D> holder = (Holder<D>) serializers().computeIfAbsent(categoryId, id -> new Holder<>());
         holder.serializer = Optional.of(serializer);
     }
     
     @Override
     public <D extends Display> void registerNotSerializable(CategoryIdentifier<D> categoryId) {
-        serializers.computeIfAbsent(categoryId, id -> new Holder<>()).serializer = Optional.empty();
+        serializers().computeIfAbsent(categoryId, id -> new Holder<>()).serializer = Optional.empty();
     }
     
     @Override
     public <D extends Display> boolean hasRegistered(CategoryIdentifier<D> categoryId) {
-        return serializers.containsKey(categoryId);
+        return serializers().containsKey(categoryId);
     }
     
     @Override
     public <D extends Display> boolean hasSerializer(CategoryIdentifier<D> categoryId) {
-        Holder<?> holder = serializers.get(categoryId);
+        Holder<?> holder = serializers().get(categoryId);
         return holder != null && holder.serializer.isPresent();
     }
     
     @Override
     public <D extends Display> CompoundTag save(CategoryIdentifier<? extends D> categoryId, D display, CompoundTag tag) {
-        return ((DisplaySerializer<D>) serializers.get(categoryId).serializer.get()).save(tag, display);
+        return ((DisplaySerializer<D>) serializers().get(categoryId).serializer.get()).save(tag, display);
     }
     
     @Override
     public <D extends Display> D read(CategoryIdentifier<? extends D> categoryId, CompoundTag tag) {
-        return ((DisplaySerializer<D>) serializers.get(categoryId).serializer.get()).read(tag);
+        return ((DisplaySerializer<D>) serializers().get(categoryId).serializer.get()).read(tag);
     }
     
     @Override
     public void startReload() {
-        serializers.clear();
+        this.building = new HashMap<>();
+        this.reloadThread = Thread.currentThread();
+    }
+    
+    @Override
+    public void endReload() {
+        this.serializers = building;
+        this.building = null;
+        this.reloadThread = null;
+    }
+    
+    @Override
+    public void abortReload() {
+        this.building = null;
+        this.reloadThread = null;
     }
     
     @Override
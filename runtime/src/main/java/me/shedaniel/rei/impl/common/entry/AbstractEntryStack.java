@@ -54,9 +54,24 @@ import java.util.Collection;
 public abstract class AbstractEntryStack<A> extends AbstractRenderer implements EntryStack<A> {
     private static final Short2ObjectMap<Object> EMPTY_SETTINGS = Short2ObjectMaps.emptyMap();
     private Short2ObjectMap<Object> settings = null;
+    private boolean frozen = false;
+    
+    /**
+     * Makes the settings of this stack immutable, used for stacks shared between ingredients.
+     */
+    void freeze() {
+        this.frozen = true;
+    }
+    
+    private void checkNotFrozen() {
+        if (frozen) {
+            throw new IllegalStateException("Interned entry stacks are immutable, copy the stack before changing its settings!");
+        }
+    }
     
     @Override
     public <T> EntryStack<A> setting(Settings<T> settings, T value) {
+        checkNotFrozen();
         short settingsId = settings.getId();
         if (this.settings == null)
             this.settings = Short2ObjectMaps.singleton(settingsId, value);
@@ -78,6 +93,7 @@ public abstract class AbstractEntryStack<A> extends AbstractRenderer implements
     
     @Override
     public <T> EntryStack<A> removeSetting(Settings<T> settings) {
+        checkNotFrozen();
         if (this.settings != null) {
             short settingsId = settings.getId();
             if (this.settings.size() == 1) {
@@ -93,6 +109,7 @@ public abstract class AbstractEntryStack<A> extends AbstractRenderer implements
     
     @Override
     public EntryStack<A> clearSettings() {
+        checkNotFrozen();
         this.settings = null;
         return this;
     }
@@ -23,19 +23,28 @@
 
 package me.shedaniel.rei.impl.common.entry;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.Iterators;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import me.shedaniel.rei.api.common.entry.EntryIngredient;
 import me.shedaniel.rei.api.common.entry.EntryStack;
 import me.shedaniel.rei.impl.Internals;
+import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.ListTag;
 
 import java.util.*;
+import java.util.concurrent.ExecutionException;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.function.UnaryOperator;
 import java.util.stream.StreamSupport;
 
 public class EntryIngredientImpl {
+    // Keyed by the serialized stack, which unlike the exact hash covers counts, amounts and tags
+    private static final Cache<CompoundTag, EntryStack<?>> STACK_INTERNER = CacheBuilder.newBuilder().weakValues().build();
+    private static final Cache<IngredientKey, EntryIngredient> INGREDIENT_INTERNER = CacheBuilder.newBuilder().weakValues().build();
+    
     public static Internals.EntryIngredientProvider provide() {
         return new Internals.EntryIngredientProvider() {
             @Override
@@ -80,9 +89,80 @@ public class EntryIngredientImpl {
             public EntryIngredient.Builder builder(int initialCapacity) {
                 return new EntryIngredientBuilder(initialCapacity);
             }
+            
+            @Override
+            public EntryIngredient intern(EntryIngredient ingredient) {
+                return EntryIngredientImpl.intern(ingredient);
+            }
         };
     }
     
+    /**
+     * Interns the stacks of an ingredient and the ingredient itself, keyed by the serialized value of the stacks.
+     * Interned stacks are frozen copies, so settings can't leak between the ingredients sharing them.
+     * Stacks with settings or without serializers are not interned,
+     * the ingredient is returned as is if any of its stacks cannot be interned.
+     */
+    private static EntryIngredient intern(EntryIngredient ingredient) {
+        if (ingredient.isEmpty()) return EmptyEntryIngredient.EMPTY;
+        EntryStack<?>[] stacks = new EntryStack[ingredient.size()];
+        try {
+            for (int i = 0; i < stacks.length; i++) {
+                EntryStack<?> stack = ingredient.get(i);
+                if (!(stack instanceof AbstractEntryStack) || !((AbstractEntryStack<?>) stack).getSettings().isEmpty()) {
+                    return ingredient;
+                }
+                CompoundTag key = stack.save();
+                if (key == null) return ingredient;
+                stacks[i] = STACK_INTERNER.get(key, () -> {
+                    EntryStack<?> copy = stack.copy();
+                    if (copy instanceof AbstractEntryStack) {
+                        ((AbstractEntryStack<?>) copy).freeze();
+                    }
+                    return copy;
+                });
+            }
+            return INGREDIENT_INTERNER.get(new IngredientKey(stacks),
+                    () -> stacks.length == 1 ? new SingletonEntryIngredient(stacks[0]) : new ArrayIngredient(stacks));
+        } catch (UnsupportedOperationException | ExecutionException | UncheckedExecutionException ignored) {
+            return ingredient;
+        }
+    }
+    
+    /**
+     * Key of an interned ingredient, its stacks are already interned so they are compared by identity.
+     */
+    private static final class IngredientKey {
+        private final EntryStack<?>[] stacks;
+        private final int hashCode;
+        
+        private IngredientKey(EntryStack<?>[] stacks) {
+            this.stacks = stacks;
+            int hashCode = 1;
+            for (EntryStack<?> stack : stacks) {
+                hashCode = 31 * hashCode + System.identityHashCode(stack);
+            }
+            this.hashCode = hashCode;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof IngredientKey)) return false;
+            EntryStack<?>[] other = ((IngredientKey) o).stacks;
+            if (other.length != stacks.length) return false;
+            for (int i = 0; i < stacks.length; i++) {
+                if (stacks[i] != other[i]) return false;
+            }
+            return true;
+        }
+        
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+    
     private static class EntryIngredientBuilder implements EntryIngredient.Builder {
         private EntryStack<?>[] contents;
         private int size = 0;
@@ -245,7 +325,7 @@ public class EntryIngredientImpl {
     }
     
     private static class SingletonEntryIngredient extends AbstractList<EntryStack<?>> implements EntryIngredient, RandomAccess {
-        private EntryStack<?> stack;
+        private final EntryStack<?> stack;
         
         public SingletonEntryIngredient(EntryStack<?> stack) {
             this.stack = stack;
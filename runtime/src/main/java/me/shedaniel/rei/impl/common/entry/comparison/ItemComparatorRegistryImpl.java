@@ -27,12 +27,14 @@ import me.shedaniel.rei.api.common.entry.comparison.ComparisonContext;
 import me.shedaniel.rei.api.common.entry.comparison.ItemComparator;
 import me.shedaniel.rei.api.common.entry.comparison.ItemComparatorRegistry;
 import me.shedaniel.rei.api.common.plugins.REIPlugin;
+import me.shedaniel.rei.impl.common.registry.ReloadGeneration;
 import net.minecraft.core.Registry;
 import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.IdentityHashMap;
 import java.util.Map;
@@ -40,11 +42,20 @@ import java.util.Map;
 @ApiStatus.Internal
 public class ItemComparatorRegistryImpl implements ItemComparatorRegistry {
     private static final Logger LOGGER = LogManager.getLogger(ItemComparatorRegistryImpl.class);
-    private final Map<Item, ItemComparator> comparators = new IdentityHashMap<>();
+    private volatile Map<Item, ItemComparator> comparators = new IdentityHashMap<>();
+    @Nullable
+    private volatile Map<Item, ItemComparator> building;
+    @Nullable
+    private volatile Thread reloadThread;
+    
+    private Map<Item, ItemComparator> comparators() {
+        Map<Item, ItemComparator> building = this.building;
+        return building != null && !ReloadGeneration.readsPublished(reloadThread) ? building : comparators;
+    }
     
     @Override
     public void register(ItemComparator comparator, Item item) {
-        ItemComparator put = this.comparators.put(item, comparator);
+        ItemComparator put = comparators().put(item, comparator);
         if (put != null) {
             LOGGER.warn("[REI] Overriding " + put + "item comparator with " + comparator + "for " + Registry.ITEM.getKey(item) + "! This may result in unwanted comparisons!");
         }
@@ -52,7 +63,21 @@ public class ItemComparatorRegistryImpl implements ItemComparatorRegistry {
     
     @Override
     public void startReload() {
-        comparators.clear();
+        this.building = new IdentityHashMap<>();
+        this.reloadThread = Thread.currentThread();
+    }
+    
+    @Override
+    public void endReload() {
+        this.comparators = building;
+        this.building = null;
+        this.reloadThread = null;
+    }
+    
+    @Override
+    public void abortReload() {
+        this.building = null;
+        this.reloadThread = null;
     }
     
     @Override
@@ -62,7 +87,7 @@ public class ItemComparatorRegistryImpl implements ItemComparatorRegistry {
     
     @Override
     public long hashOf(ComparisonContext context, ItemStack stack) {
-        ItemComparator comparator = comparators.get(stack.getItem());
+        ItemComparator comparator = comparators().get(stack.getItem());
         if (comparator != null) {
             return comparator.hash(context, stack);
         }
@@ -71,11 +96,11 @@ public class ItemComparatorRegistryImpl implements ItemComparatorRegistry {
     
     @Override
     public boolean containsComparator(Item item) {
-        return comparators.containsKey(item);
+        return comparators().containsKey(item);
     }
     
     @Override
     public int comparatorSize() {
-        return this.comparators.size();
+        return comparators().size();
     }
 }
@@ -26,6 +26,7 @@ package me.shedaniel.rei.impl.common.entry.type;
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Stopwatch;
 import com.google.common.collect.Lists;
+import it.unimi.dsi.fastutil.longs.LongSet;
 import me.shedaniel.rei.RoughlyEnoughItemsCore;
 import me.shedaniel.rei.api.client.config.ConfigObject;
 import me.shedaniel.rei.api.client.plugins.REIClientPlugin;
@@ -37,7 +38,10 @@ import me.shedaniel.rei.impl.client.config.ConfigObjectImpl;
 import me.shedaniel.rei.impl.client.entry.filtering.FilteringContextImpl;
 import me.shedaniel.rei.impl.client.entry.filtering.FilteringContextType;
 import me.shedaniel.rei.impl.client.entry.filtering.FilteringRule;
+import me.shedaniel.rei.impl.client.entry.filtering.rules.ManualFilteringRule;
+import me.shedaniel.rei.impl.common.registry.ReloadGeneration;
 import me.shedaniel.rei.impl.common.util.HashedEntryStackWrapper;
+import me.shedaniel.rei.impl.common.util.WorkerPool;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
 import net.minecraft.core.NonNullList;
@@ -57,11 +61,15 @@ import java.util.stream.Stream;
 @ApiStatus.Internal
 @Environment(EnvType.CLIENT)
 public class EntryRegistryImpl implements EntryRegistry {
-    private final List<EntryStack<?>> preFilteredList = Lists.newCopyOnWriteArrayList();
-    private final List<EntryStack<?>> entries = Lists.newCopyOnWriteArrayList();
+    private static final WorkerPool.Workload MANUAL_REFILTER_WORKLOAD = new WorkerPool.Workload("manual-refilter", 1024);
+    // Kept unmodifiable so readers can tell refiltered lists apart by identity
+    private volatile List<EntryStack<?>> preFilteredList = Collections.emptyList();
+    private volatile List<EntryStack<?>> entries = Lists.newCopyOnWriteArrayList();
     @Nullable
-    private List<HashedEntryStackWrapper> reloadingRegistry;
-    private boolean reloading;
+    private volatile List<HashedEntryStackWrapper> reloadingRegistry;
+    @Nullable
+    private volatile Thread reloadThread;
+    private volatile boolean reloading;
     
     @Override
     public void acceptPlugin(REIClientPlugin plugin) {
@@ -70,46 +78,71 @@ public class EntryRegistryImpl implements EntryRegistry {
     
     @Override
     public void startReload() {
-        entries.clear();
-        if (reloadingRegistry != null) {
-            reloadingRegistry.clear();
-        }
         reloadingRegistry = Lists.newArrayListWithCapacity(Registry.ITEM.keySet().size() + 100);
-        preFilteredList.clear();
+        reloadThread = Thread.currentThread();
         reloading = true;
     }
     
     @Override
     public void endReload() {
-        reloading = false;
-        preFilteredList.clear();
+        List<HashedEntryStackWrapper> reloadingRegistry = this.reloadingRegistry;
         reloadingRegistry.removeIf(HashedEntryStackWrapper::isEmpty);
-        entries.clear();
-        entries.addAll(CollectionUtils.map(reloadingRegistry, HashedEntryStackWrapper::unwrap));
-        reloadingRegistry = null;
+        // Publish the new generation with a single swap, the filtered list is swapped on refilter
+        entries = Lists.newCopyOnWriteArrayList(CollectionUtils.map(reloadingRegistry, HashedEntryStackWrapper::unwrap));
+        reloading = false;
+        reloadThread = null;
+        this.reloadingRegistry = null;
+    }
+    
+    @Override
+    public void abortReload() {
+        reloading = false;
+        reloadThread = null;
+        this.reloadingRegistry = null;
+    }
+    
+    @Nullable
+    private List<HashedEntryStackWrapper> readingRegistry() {
+        List<HashedEntryStackWrapper> reloadingRegistry = this.reloadingRegistry;
+        if (reloadingRegistry == null || ReloadGeneration.readsPublished(reloadThread)) {
+            return null;
+        }
+        return reloadingRegistry;
     }
     
     @Override
     public int size() {
-        return reloading ? reloadingRegistry.size() : entries.size();
+        List<HashedEntryStackWrapper> reloadingRegistry = readingRegistry();
+        return reloadingRegistry != null ? reloadingRegistry.size() : entries.size();
     }
     
     @Override
     public Stream<EntryStack<?>> getEntryStacks() {
-        return reloading ? reloadingRegistry.stream().map(HashedEntryStackWrapper::unwrap) : entries.stream();
+        List<HashedEntryStackWrapper> reloadingRegistry = readingRegistry();
+        return reloadingRegistry != null ? reloadingRegistry.stream().map(HashedEntryStackWrapper::unwrap) : entries.stream();
     }
     
     @Override
     public List<EntryStack<?>> getPreFilteredList() {
-        return Collections.unmodifiableList(preFilteredList);
+        return preFilteredList;
     }
     
     @Override
     public void refilter() {
         Stopwatch stopwatch = Stopwatch.createStarted();
         
-        FilteringContextImpl context = new FilteringContextImpl(entries);
+        List<EntryStack<?>> entries = this.entries;
         List<FilteringRule<?>> rules = ((ConfigObjectImpl) ConfigObject.getInstance()).getFilteringRules();
+        if (rules.size() == 1 && rules.get(0) instanceof ManualFilteringRule) {
+            // Only the manual rule is set up, filter the entries against its hashes directly
+            LongSet filteredHashes = ((ManualFilteringRule) rules.get(0)).getFilteredHashes();
+            List<EntryStack<?>> preFilteredList = filteredHashes.isEmpty() ? entries
+                    : WorkerPool.filter(MANUAL_REFILTER_WORKLOAD, entries, stack -> !filteredHashes.contains(EntryStacks.hashExact(stack)), () -> false);
+            this.preFilteredList = Collections.unmodifiableList(Lists.newCopyOnWriteArrayList(preFilteredList));
+            RoughlyEnoughItemsCore.LOGGER.debug("Refiltered %d entries with the manual rule in %s.", entries.size() - preFilteredList.size(), stopwatch.stop().toString());
+            return;
+        }
+        FilteringContextImpl context = new FilteringContextImpl(entries);
         Stopwatch innerStopwatch = Stopwatch.createStarted();
         for (int i = rules.size() - 1; i >= 0; i--) {
             innerStopwatch.reset().start();
@@ -119,17 +152,17 @@ public class EntryRegistryImpl implements EntryRegistry {
         }
         
         Set<HashedEntryStackWrapper> hiddenStacks = context.stacks.get(FilteringContextType.HIDDEN);
+        List<EntryStack<?>> preFilteredList;
         if (hiddenStacks.isEmpty()) {
-            preFilteredList.clear();
-            preFilteredList.addAll(entries);
+            preFilteredList = Lists.newCopyOnWriteArrayList(entries);
         } else {
-            preFilteredList.clear();
-            preFilteredList.addAll(entries.parallelStream()
+            preFilteredList = Lists.newCopyOnWriteArrayList(WorkerPool.invoke(() -> entries.parallelStream()
                     .map(HashedEntryStackWrapper::new)
                     .filter(not(hiddenStacks::contains))
                     .map(HashedEntryStackWrapper::unwrap)
-                    .collect(Collectors.toList()));
+                    .collect(Collectors.toList())));
         }
+        this.preFilteredList = Collections.unmodifiableList(preFilteredList);
         
         RoughlyEnoughItemsCore.LOGGER.debug("Refiltered %d entries with %d rules in %s.", entries.size() - preFilteredList.size(), rules.size(), stopwatch.stop().toString());
     }
@@ -185,10 +218,11 @@ public class EntryRegistryImpl implements EntryRegistry {
     
     @Override
     public boolean alreadyContain(EntryStack<?> stack) {
-        if (reloading) {
-            return reloadingRegistry.parallelStream().anyMatch(s -> EntryStacks.equalsExact(s.unwrap(), stack));
+        List<HashedEntryStackWrapper> reloadingRegistry = readingRegistry();
+        if (reloadingRegistry != null) {
+            return WorkerPool.invoke(() -> reloadingRegistry.parallelStream().anyMatch(s -> EntryStacks.equalsExact(s.unwrap(), stack)));
         }
-        return entries.parallelStream().anyMatch(s -> EntryStacks.equalsExact(s, stack));
+        return WorkerPool.invoke(() -> entries.parallelStream().anyMatch(s -> EntryStacks.equalsExact(s, stack)));
     }
     
     @Override
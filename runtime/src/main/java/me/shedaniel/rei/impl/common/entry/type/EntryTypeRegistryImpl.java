@@ -32,8 +32,10 @@ import me.shedaniel.rei.api.common.entry.type.EntryType;
 import me.shedaniel.rei.api.common.entry.type.EntryTypeBridge;
 import me.shedaniel.rei.api.common.entry.type.EntryTypeRegistry;
 import me.shedaniel.rei.api.common.plugins.REIPlugin;
+import me.shedaniel.rei.impl.common.registry.ReloadGeneration;
 import net.minecraft.resources.ResourceLocation;
 import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -42,8 +44,16 @@ import java.util.Set;
 
 @ApiStatus.Internal
 public class EntryTypeRegistryImpl implements EntryTypeRegistry {
-    private final BiMap<ResourceLocation, EntryDefinition<?>> entryTypes = HashBiMap.create();
-    private final Table<ResourceLocation, ResourceLocation, List<EntryTypeBridge<?, ?>>> typeBridges = HashBasedTable.create();
+    private volatile Generation published = new Generation();
+    @Nullable
+    private volatile Generation building;
+    @Nullable
+    private volatile Thread reloadThread;
+    
+    private Generation generation() {
+        Generation building = this.building;
+        return building != null && !ReloadGeneration.readsPublished(reloadThread) ? building : published;
+    }
     
     @Override
     public void acceptPlugin(REIPlugin<?> plugin) {
@@ -52,36 +62,37 @@ public class EntryTypeRegistryImpl implements EntryTypeRegistry {
     
     @Override
     public <T> void register(ResourceLocation id, EntryDefinition<T> definition) {
-        this.entryTypes.put(id, definition);
+        generation().entryTypes.put(id, definition);
     }
     
     @Override
     public <A, B> void registerBridge(EntryType<A> original, EntryType<B> destination, EntryTypeBridge<A, B> bridge) {
-        List<EntryTypeBridge<?, ?>> list = this.typeBridges.get(original.getId(), destination.getId());
+        Table<ResourceLocation, ResourceLocation, List<EntryTypeBridge<?, ?>>> typeBridges = generation().typeBridges;
+        List<EntryTypeBridge<?, ?>> list = typeBridges.get(original.getId(), destination.getId());
         if (list == null) {
-            this.typeBridges.put(original.getId(), destination.getId(), list = new ArrayList<>());
+            typeBridges.put(original.getId(), destination.getId(), list = new ArrayList<>());
         }
         list.add(bridge);
     }
     
     @Override
     public EntryDefinition<?> get(ResourceLocation id) {
-        return this.entryTypes.get(id);
+        return generation().entryTypes.get(id);
     }
     
     @Override
     public Set<ResourceLocation> keySet() {
-        return this.entryTypes.keySet();
+        return generation().entryTypes.keySet();
     }
     
     @Override
     public Set<EntryDefinition<?>> values() {
-        return this.entryTypes.values();
+        return generation().entryTypes.values();
     }
     
     @Override
     public <A, B> Iterable<EntryTypeBridge<A, B>> getBridgesFor(EntryType<A> original, EntryType<B> destination) {
-        List<? extends EntryTypeBridge<?, ?>> list = this.typeBridges.get(original.getId(), destination.getId());
+        List<? extends EntryTypeBridge<?, ?>> list = generation().typeBridges.get(original.getId(), destination.getId());
         if (list == null) {
             return Collections.emptyList();
         }
@@ -90,7 +101,25 @@ public class EntryTypeRegistryImpl implements EntryTypeRegistry {
     
     @Override
     public void startReload() {
-        entryTypes.clear();
-        typeBridges.clear();
+        this.building = new Generation();
+        this.reloadThread = Thread.currentThread();
+    }
+    
+    @Override
+    public void endReload() {
+        this.published = building;
+        this.building = null;
+        this.reloadThread = null;
+    }
+    
+    @Override
+    public void abortReload() {
+        this.building = null;
+        this.reloadThread = null;
+    }
+    
+    private static class Generation {
+        private final BiMap<ResourceLocation, EntryDefinition<?>> entryTypes = HashBiMap.create();
+        private final Table<ResourceLocation, ResourceLocation, List<EntryTypeBridge<?, ?>>> typeBridges = HashBasedTable.create();
     }
 }
@@ -29,6 +29,7 @@ import me.shedaniel.architectury.fluid.FluidStack;
 import me.shedaniel.rei.api.common.entry.EntryStack;
 import me.shedaniel.rei.api.common.fluid.FluidSupportProvider;
 import me.shedaniel.rei.api.common.plugins.REIPlugin;
+import me.shedaniel.rei.impl.common.registry.ReloadGeneration;
 import net.minecraft.world.InteractionResult;
 import net.minecraft.world.InteractionResultHolder;
 import net.minecraft.world.item.ItemStack;
@@ -43,8 +44,16 @@ import java.util.stream.Stream;
 
 @ApiStatus.Internal
 public class FluidSupportProviderImpl extends ForwardingList<FluidSupportProvider.Provider> implements FluidSupportProvider {
-    private final List<Provider> providers = Lists.newCopyOnWriteArrayList();
-    private final List<Provider> immutable = Collections.unmodifiableList(providers);
+    private volatile List<Provider> providers = Lists.newCopyOnWriteArrayList();
+    @Nullable
+    private volatile List<Provider> building;
+    @Nullable
+    private volatile Thread reloadThread;
+    
+    private List<Provider> providers() {
+        List<Provider> building = this.building;
+        return building != null && !ReloadGeneration.readsPublished(reloadThread) ? building : providers;
+    }
     
     @Override
     public void acceptPlugin(REIPlugin<?> plugin) {
@@ -53,18 +62,32 @@ public class FluidSupportProviderImpl extends ForwardingList<FluidSupportProvide
     
     @Override
     public void startReload() {
-        providers.clear();
+        this.building = Lists.newCopyOnWriteArrayList();
+        this.reloadThread = Thread.currentThread();
+    }
+    
+    @Override
+    public void endReload() {
+        this.providers = building;
+        this.building = null;
+        this.reloadThread = null;
+    }
+    
+    @Override
+    public void abortReload() {
+        this.building = null;
+        this.reloadThread = null;
     }
     
     @Override
     public void register(Provider provider) {
-        providers.add(Objects.requireNonNull(provider, "Registered provider is null!"));
+        providers().add(Objects.requireNonNull(provider, "Registered provider is null!"));
     }
     
     @Override
     public Optional<Stream<EntryStack<FluidStack>>> itemToFluids(EntryStack<? extends ItemStack> itemStack) {
         if (itemStack.isEmpty()) return Optional.empty();
-        for (Provider provider : providers) {
+        for (Provider provider : providers()) {
             InteractionResultHolder<@Nullable Stream<EntryStack<FluidStack>>> resultHolder = Objects.requireNonNull(provider.itemToFluid(itemStack));
             Stream<EntryStack<FluidStack>> stream = resultHolder.getObject();
             if (stream != null) {
@@ -80,6 +103,6 @@ public class FluidSupportProviderImpl extends ForwardingList<FluidSupportProvide
     
     @Override
     protected List<Provider> delegate() {
-        return immutable;
+        return Collections.unmodifiableList(providers());
     }
 }
@@ -27,6 +27,7 @@ import com.google.common.base.MoreObjects;
 import com.google.common.base.Stopwatch;
 import com.google.common.collect.FluentIterable;
 import com.google.common.collect.Iterables;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import me.shedaniel.rei.RoughlyEnoughItemsCore;
 import me.shedaniel.rei.api.client.registry.entry.EntryRegistry;
 import me.shedaniel.rei.api.common.plugins.PluginManager;
@@ -35,15 +36,23 @@ import me.shedaniel.rei.api.common.plugins.REIPlugin;
 import me.shedaniel.rei.api.common.plugins.REIPluginProvider;
 import me.shedaniel.rei.api.common.registry.Reloadable;
 import me.shedaniel.rei.api.common.util.CollectionUtils;
+import me.shedaniel.rei.impl.common.registry.RegistrationBuffer;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
 import net.minecraft.Util;
 import org.apache.commons.lang3.tuple.MutablePair;
+import org.apache.commons.lang3.tuple.Pair;
 import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.Closeable;
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Consumer;
 import java.util.function.LongConsumer;
 import java.util.function.UnaryOperator;
@@ -51,6 +60,8 @@ import java.util.function.UnaryOperator;
 @ApiStatus.Internal
 @Environment(EnvType.CLIENT)
 public class PluginManagerImpl<P extends REIPlugin<?>> implements PluginManager<P>, PluginView<P> {
+    private static final ExecutorService CONCURRENT_RELOAD = Executors.newFixedThreadPool(Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1)),
+            new ThreadFactoryBuilder().setNameFormat("REI-PluginReload-%d").setDaemon(true).build());
     private final List<Reloadable<P>> reloadables = new ArrayList<>();
     private final Map<Class<? extends Reloadable<P>>, Reloadable<? super P>> cache = new ConcurrentHashMap<>();
     private final Class<P> pluginClass;
@@ -119,18 +130,27 @@ public class PluginManagerImpl<P extends REIPlugin<?>> implements PluginManager<
         return FluentIterable.concat(Iterables.transform(plugins, REIPluginProvider::provide));
     }
     
-    private static class SectionClosable implements Closeable {
+    private class SectionClosable implements Closeable {
         private MutablePair<Stopwatch, String> sectionData;
+        private final String stage;
+        @Nullable
+        private final String plugin;
+        private final ReloadProfiler.Probe probe = ReloadProfiler.probe();
         
-        public SectionClosable(MutablePair<Stopwatch, String> sectionData, String section) {
+        public SectionClosable(MutablePair<Stopwatch, String> sectionData, String stage, @Nullable String plugin) {
             this.sectionData = sectionData;
+            this.stage = stage;
+            this.plugin = plugin;
+            String section = plugin == null ? stage : stage + " for " + plugin;
             sectionData.setRight(section);
             RoughlyEnoughItemsCore.LOGGER.debug("Reloading Section: \"%s\"", section);
             sectionData.getLeft().reset().start();
+            probe.startCounting().startTiming();
         }
         
         @Override
         public void close() {
+            probe.stopTiming().stopCounting().record(pluginClass.getSimpleName(), stage, plugin);
             sectionData.getLeft().stop();
             String section = sectionData.getRight();
             RoughlyEnoughItemsCore.LOGGER.debug("Reloading Section: \"%s\" done in %s", section, sectionData.getLeft().toString());
@@ -139,12 +159,16 @@ public class PluginManagerImpl<P extends REIPlugin<?>> implements PluginManager<
     }
     
     private SectionClosable section(MutablePair<Stopwatch, String> sectionData, String section) {
-        return new SectionClosable(sectionData, section);
+        return new SectionClosable(sectionData, section, null);
+    }
+    
+    private SectionClosable section(MutablePair<Stopwatch, String> sectionData, String stage, String plugin) {
+        return new SectionClosable(sectionData, stage, plugin);
     }
     
     private void pluginSection(MutablePair<Stopwatch, String> sectionData, String sectionName, List<P> list, Consumer<P> consumer) {
         for (P plugin : list) {
-            try (SectionClosable section = section(sectionData, sectionName + " for " + plugin.getPluginName())) {
+            try (SectionClosable section = section(sectionData, sectionName, plugin.getPluginName())) {
                 consumer.accept(plugin);
             } catch (Throwable throwable) {
                 RoughlyEnoughItemsCore.LOGGER.error(plugin.getPluginName() + " plugin failed to " + sectionName + "!", throwable);
@@ -152,10 +176,72 @@ public class PluginManagerImpl<P extends REIPlugin<?>> implements PluginManager<
         }
     }
     
+    private void reloadablePluginSection(MutablePair<Stopwatch, String> sectionData, String sectionName, List<P> list, Reloadable<P> reloadable) {
+        if (!reloadable.isConcurrent()) {
+            pluginSection(sectionData, sectionName, list, reloadable::acceptPlugin);
+            return;
+        }
+        
+        // Non-concurrent plugins act as barriers, every concurrent plugin before them is applied first.
+        List<P> batch = new ArrayList<>();
+        for (P plugin : list) {
+            if (plugin.isConcurrent()) {
+                batch.add(plugin);
+            } else {
+                concurrentPluginSection(sectionData, sectionName, batch, reloadable::acceptPlugin);
+                batch.clear();
+                pluginSection(sectionData, sectionName, Collections.singletonList(plugin), reloadable::acceptPlugin);
+            }
+        }
+        concurrentPluginSection(sectionData, sectionName, batch, reloadable::acceptPlugin);
+    }
+    
+    private void concurrentPluginSection(MutablePair<Stopwatch, String> sectionData, String sectionName, List<P> batch, Consumer<P> consumer) {
+        if (batch.size() <= 1) {
+            pluginSection(sectionData, sectionName, batch, consumer);
+            return;
+        }
+        
+        Stopwatch stopwatch = Stopwatch.createStarted();
+        List<CompletableFuture<Pair<ReloadProfiler.Probe, List<Runnable>>>> futures = new ArrayList<>(batch.size());
+        for (P plugin : batch) {
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                ReloadProfiler.Probe probe = ReloadProfiler.probe().startTiming();
+                List<Runnable> registrations = RegistrationBuffer.capture(() -> consumer.accept(plugin));
+                return Pair.of(probe.stopTiming(), registrations);
+            }, CONCURRENT_RELOAD));
+        }
+        // Every plugin of the batch must be done before replaying, running plugins may still read the registries
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException ignored) {
+            // Failures are reported per plugin below
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            P plugin = batch.get(i);
+            try {
+                Pair<ReloadProfiler.Probe, List<Runnable>> result = futures.get(i).join();
+                ReloadProfiler.Probe probe = result.getLeft().startCounting();
+                for (Runnable registration : result.getRight()) {
+                    registration.run();
+                }
+                probe.stopCounting().record(pluginClass.getSimpleName(), sectionName, plugin.getPluginName());
+            } catch (Throwable throwable) {
+                if (throwable instanceof CompletionException && throwable.getCause() != null) {
+                    throwable = throwable.getCause();
+                }
+                RoughlyEnoughItemsCore.LOGGER.error(plugin.getPluginName() + " plugin failed to " + sectionName + "!", throwable);
+            }
+        }
+        RoughlyEnoughItemsCore.LOGGER.debug("Reloading Section: \"%s\" for %d concurrent plugins done in %s", sectionName, batch.size(), stopwatch.stop().toString());
+    }
+    
     @Override
     public void startReload() {
+        boolean published = false;
         try {
             arePluginsLoading = true;
+            ReloadProfiler.reset(pluginClass.getSimpleName());
             long startTime = Util.getMillis();
             MutablePair<Stopwatch, String> sectionData = new MutablePair<>(Stopwatch.createUnstarted(), "");
             
@@ -173,12 +259,23 @@ public class PluginManagerImpl<P extends REIPlugin<?>> implements PluginManager<
             RoughlyEnoughItemsCore.LOGGER.info("Reloading Plugin Manager [%s], registered %d plugins: %s", pluginClass.getSimpleName(), plugins.size(), CollectionUtils.mapAndJoinToString(plugins, REIPlugin::getPluginName, ", "));
             Collections.reverse(plugins);
             
+            List<Reloadable<P>> pluginReloadables = getReloadables();
+            int steps = pluginReloadables.size() + 3, step = 0;
+            ReloadScheduler.checkpoint(pluginClass.getSimpleName() + ": pre-register", step++, steps);
             pluginSection(sectionData, "pre-register", plugins, REIPlugin::preRegister);
-            for (Reloadable<P> reloadable : getReloadables()) {
+            for (Reloadable<P> reloadable : pluginReloadables) {
                 Class<?> reloadableClass = reloadable.getClass();
-                pluginSection(sectionData, "reloadable-plugin-" + MoreObjects.firstNonNull(reloadableClass.getSimpleName(), reloadableClass.getName()), plugins, reloadable::acceptPlugin);
+                String sectionName = "reloadable-plugin-" + MoreObjects.firstNonNull(reloadableClass.getSimpleName(), reloadableClass.getName());
+                ReloadScheduler.checkpoint(pluginClass.getSimpleName() + ": " + sectionName, step++, steps);
+                reloadablePluginSection(sectionData, sectionName, plugins, reloadable);
             }
+            ReloadScheduler.checkpoint(pluginClass.getSimpleName() + ": post-register", step++, steps);
             pluginSection(sectionData, "post-register", plugins, REIPlugin::postRegister);
+            // Every registry builds a private generation and only publishes it in end-reload, the reload can't be cancelled past this checkpoint
+            ReloadScheduler.checkpoint(pluginClass.getSimpleName() + ": end-reload", step, steps);
+            published = true;
+            // Other plugin managers reloaded after this one must publish as well, or the managers would disagree
+            ReloadScheduler.commit();
             
             for (Reloadable<P> reloadable : reloadables) {
                 Class<?> reloadableClass = reloadable.getClass();
@@ -195,10 +292,26 @@ public class PluginManagerImpl<P extends REIPlugin<?>> implements PluginManager<
             
             long usedTime = Util.getMillis() - startTime;
             reloadDoneListener.accept(usedTime);
+        } catch (CancellationException exception) {
+            throw exception;
         } catch (Throwable throwable) {
             throwable.printStackTrace();
         } finally {
+            if (!published) {
+                abortReload();
+            }
             arePluginsLoading = false;
         }
     }
+    
+    @Override
+    public void abortReload() {
+        for (Reloadable<P> reloadable : reloadables) {
+            try {
+                reloadable.abortReload();
+            } catch (Throwable throwable) {
+                throwable.printStackTrace();
+            }
+        }
+    }
 }
@@ -0,0 +1,213 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.shedaniel.rei.impl.common.plugins;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import me.shedaniel.architectury.platform.Platform;
+import me.shedaniel.rei.RoughlyEnoughItemsCore;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.function.IntSupplier;
+
+/**
+ * Records the wall time, cpu time, allocated bytes and registry growth of every (plugin, stage) pair of the latest reload,
+ * for each plugin manager.
+ */
+@ApiStatus.Internal
+public final class ReloadProfiler {
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+    private static final ThreadMXBean THREAD_BEAN = ManagementFactory.getThreadMXBean();
+    private static final Map<String, IntSupplier> COUNTERS = new LinkedHashMap<>();
+    private static final Map<String, List<Sample>> SAMPLES = new LinkedHashMap<>();
+    
+    private ReloadProfiler() {}
+    
+    /**
+     * Registers a counter, the growth of the counter is recorded for every sample.
+     *
+     * @param name    the name of the counter, e.g. "entries"
+     * @param counter the counter
+     */
+    public static void registerCounter(String name, IntSupplier counter) {
+        COUNTERS.put(name, counter);
+    }
+    
+    public static synchronized void reset(String manager) {
+        SAMPLES.put(manager, new ArrayList<>());
+    }
+    
+    public static synchronized void record(Sample sample) {
+        SAMPLES.computeIfAbsent(sample.manager, m -> new ArrayList<>()).add(sample);
+    }
+    
+    public static synchronized List<Sample> getSamples() {
+        List<Sample> samples = new ArrayList<>();
+        for (List<Sample> list : SAMPLES.values()) {
+            samples.addAll(list);
+        }
+        return samples;
+    }
+    
+    public static Probe probe() {
+        return new Probe();
+    }
+    
+    public static String toJson() {
+        JsonArray array = new JsonArray();
+        for (Sample sample : getSamples()) {
+            JsonObject object = new JsonObject();
+            object.addProperty("manager", sample.manager);
+            object.addProperty("stage", sample.stage);
+            if (sample.plugin != null) object.addProperty("plugin", sample.plugin);
+            object.addProperty("wallNanos", sample.wallNanos);
+            object.addProperty("cpuNanos", sample.cpuNanos);
+            object.addProperty("allocatedBytes", sample.allocatedBytes);
+            JsonObject counters = new JsonObject();
+            for (Map.Entry<String, Integer> entry : sample.counters.entrySet()) {
+                counters.addProperty(entry.getKey(), entry.getValue());
+            }
+            object.add("added", counters);
+            array.add(object);
+        }
+        return GSON.toJson(array);
+    }
+    
+    /**
+     * Exports the samples in the collapsed stack format, accepted by most flamegraph tools, weighted by wall time in microseconds.
+     */
+    public static String toCollapsedStacks() {
+        StringBuilder builder = new StringBuilder();
+        for (Sample sample : getSamples()) {
+            builder.append(sanitize(sample.manager)).append(';').append(sanitize(sample.stage));
+            if (sample.plugin != null) builder.append(';').append(sanitize(sample.plugin));
+            builder.append(' ').append(sample.wallNanos / 1000).append('\n');
+        }
+        return builder.toString();
+    }
+    
+    private static String sanitize(String frame) {
+        return frame.replace(';', '_').replace(' ', '_');
+    }
+    
+    @Nullable
+    public static Path export(boolean json) {
+        Path path = Platform.getGameFolder().resolve(json ? "rei-reload-profile.json" : "rei-reload-profile.folded");
+        try {
+            Files.write(path, (json ? toJson() : toCollapsedStacks()).getBytes(StandardCharsets.UTF_8));
+            return path;
+        } catch (IOException e) {
+            RoughlyEnoughItemsCore.LOGGER.error("Failed to export reload profile!", e);
+            return null;
+        }
+    }
+    
+    private static long cpuTime() {
+        return THREAD_BEAN.isCurrentThreadCpuTimeSupported() ? THREAD_BEAN.getCurrentThreadCpuTime() : 0;
+    }
+    
+    private static long allocatedBytes() {
+        if (THREAD_BEAN instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) THREAD_BEAN;
+            if (bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled()) {
+                return bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return 0;
+    }
+    
+    /**
+     * Measures a section, timing is measured on the thread calling {@link #startTiming()} and {@link #stopTiming()},
+     * which may differ from the thread applying the registrations.
+     */
+    public static final class Probe {
+        private long wall, cpu, allocated;
+        private final Map<String, Integer> counters = new LinkedHashMap<>();
+        
+        private Probe() {}
+        
+        public Probe startTiming() {
+            wall = System.nanoTime();
+            cpu = cpuTime();
+            allocated = allocatedBytes();
+            return this;
+        }
+        
+        public Probe stopTiming() {
+            wall = System.nanoTime() - wall;
+            cpu = cpuTime() - cpu;
+            allocated = allocatedBytes() - allocated;
+            return this;
+        }
+        
+        public Probe startCounting() {
+            for (Map.Entry<String, IntSupplier> entry : COUNTERS.entrySet()) {
+                counters.put(entry.getKey(), entry.getValue().getAsInt());
+            }
+            return this;
+        }
+        
+        public Probe stopCounting() {
+            for (Map.Entry<String, IntSupplier> entry : COUNTERS.entrySet()) {
+                Integer before = counters.get(entry.getKey());
+                counters.put(entry.getKey(), before == null ? 0 : entry.getValue().getAsInt() - before);
+            }
+            return this;
+        }
+        
+        public void record(String manager, String stage, @Nullable String plugin) {
+            ReloadProfiler.record(new Sample(manager, stage, plugin, wall, cpu, allocated, counters));
+        }
+    }
+    
+    public static final class Sample {
+        public final String manager;
+        public final String stage;
+        @Nullable
+        public final String plugin;
+        public final long wallNanos;
+        public final long cpuNanos;
+        public final long allocatedBytes;
+        public final Map<String, Integer> counters;
+        
+        public Sample(String manager, String stage, @Nullable String plugin, long wallNanos, long cpuNanos, long allocatedBytes, Map<String, Integer> counters) {
+            this.manager = manager;
+            this.stage = stage;
+            this.plugin = plugin;
+            this.wallNanos = wallNanos;
+            this.cpuNanos = cpuNanos;
+            this.allocatedBytes = allocatedBytes;
+            this.counters = Collections.unmodifiableMap(new LinkedHashMap<>(counters));
+        }
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.impl.common.plugins;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import me.shedaniel.rei.RoughlyEnoughItemsCore;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.*;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Debounces and coalesces reload requests, so that at most one reload runs at a time.
+ * A request arriving while a reload is running cancels it at its next checkpoint, and the reload is rerun
+ * once the request is due, so the final state always reflects the latest inputs.
+ */
+@ApiStatus.Internal
+public final class ReloadScheduler {
+    private static final long DEBOUNCE_MILLIS = 250;
+    private static final ScheduledExecutorService EXECUTOR = Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setNameFormat("REI-SyncRecipes").setDaemon(true).build());
+    private static final ThreadLocal<Run> CURRENT = new ThreadLocal<>();
+    private final Runnable task;
+    private final ReentrantLock lock = new ReentrantLock();
+    @Nullable
+    private CompletableFuture<Void> pending;
+    @Nullable
+    private ScheduledFuture<?> pendingTask;
+    @Nullable
+    private volatile Run running;
+    
+    public ReloadScheduler(Runnable task) {
+        this.task = task;
+    }
+    
+    /**
+     * Requests a reload, merging it with the pending request if there is one.
+     *
+     * @param async whether to run the reload on the reload thread, otherwise the reload is run on the current thread
+     * @return the future completed once a reload started after this request is done
+     */
+    public CompletableFuture<Void> request(boolean async) {
+        CompletableFuture<Void> future;
+        synchronized (this) {
+            Run running = this.running;
+            if (running != null) {
+                running.cancelled = true;
+            }
+            if (pending == null) {
+                pending = new CompletableFuture<>();
+            }
+            future = pending;
+            if (pendingTask != null) {
+                pendingTask.cancel(false);
+                pendingTask = null;
+            }
+            if (async) {
+                pendingTask = EXECUTOR.schedule(this::runPending, DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS);
+                return future;
+            }
+        }
+        runPending();
+        return future;
+    }
+    
+    private void runPending() {
+        lock.lock();
+        try {
+            CompletableFuture<Void> future;
+            Run run = new Run();
+            synchronized (this) {
+                if (pending == null) return;
+                future = pending;
+                pending = null;
+                pendingTask = null;
+                running = run;
+            }
+            execute(run, future);
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    private void execute(Run run, CompletableFuture<Void> future) {
+        CURRENT.set(run);
+        try {
+            task.run();
+        } catch (CancellationException ignored) {
+        } catch (Throwable throwable) {
+            future.completeExceptionally(throwable);
+        } finally {
+            CURRENT.remove();
+            synchronized (this) {
+                running = null;
+                if (run.cancelled && !run.committed && pending != null) {
+                    RoughlyEnoughItemsCore.LOGGER.info("Reload superseded by a newer reload request at stage [%s]", run.stage);
+                    pending.whenComplete((result, throwable) -> {
+                        if (throwable != null) future.completeExceptionally(throwable);
+                        else future.complete(null);
+                    });
+                } else {
+                    future.complete(null);
+                }
+            }
+        }
+    }
+    
+    public boolean isReloading() {
+        return running != null;
+    }
+    
+    public synchronized boolean isPending() {
+        return pending != null;
+    }
+    
+    /**
+     * Returns the progress of the stage reported last by the running reload, from 0 to 1.
+     *
+     * @return the progress of the running reload, or {@code 1} if no reload is running
+     */
+    public float getProgress() {
+        Run run = this.running;
+        return run == null ? 1 : run.progress;
+    }
+    
+    @Nullable
+    public String getStage() {
+        Run run = this.running;
+        return run == null ? null : run.stage;
+    }
+    
+    /**
+     * Reports the progress of the reload running on the current thread, and aborts it if a newer request arrived.
+     * Does nothing if the current thread is not running a scheduled reload.
+     *
+     * @param stage the stage about to start
+     * @param step  the number of steps done
+     * @param steps the total number of steps
+     * @throws CancellationException if the reload has been superseded by a newer request
+     */
+    public static void checkpoint(String stage, int step, int steps) {
+        Run run = CURRENT.get();
+        if (run == null) return;
+        run.stage = stage;
+        run.progress = steps <= 0 ? 1 : (float) step / steps;
+        if (run.cancelled && !run.committed) {
+            throw new CancellationException(stage);
+        }
+    }
+    
+    /**
+     * Marks the reload running on the current thread as no longer cancellable, once some of its results have been published.
+     * Later checkpoints still report progress, but the reload runs to completion so that every registry ends up consistent.
+     */
+    public static void commit() {
+        Run run = CURRENT.get();
+        if (run != null) {
+            run.committed = true;
+        }
+    }
+    
+    private static class Run {
+        private volatile boolean cancelled;
+        private volatile boolean committed;
+        private volatile String stage = "";
+        private volatile float progress;
+    }
+}
@@ -23,24 +23,34 @@
 
 package me.shedaniel.rei.impl.common.registry;
 
+import io.netty.buffer.Unpooled;
 import me.shedaniel.architectury.utils.EnvExecutor;
 import me.shedaniel.architectury.utils.GameInstance;
 import me.shedaniel.rei.api.common.plugins.REIPlugin;
 import me.shedaniel.rei.api.common.registry.RecipeManagerContext;
 import net.minecraft.client.Minecraft;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.item.crafting.Recipe;
 import net.minecraft.world.item.crafting.RecipeManager;
+import net.minecraft.world.item.crafting.RecipeSerializer;
+import net.minecraft.world.item.crafting.RecipeType;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.Collections;
-import java.util.Comparator;
-import java.util.List;
+import java.util.*;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
 
 public class RecipeManagerContextImpl<P extends REIPlugin<?>> implements RecipeManagerContext<P> {
-    private static final Comparator<Recipe<?>> RECIPE_COMPARATOR = Comparator.comparing((Recipe<?> o) -> o.getId().getNamespace()).thenComparing(o -> o.getId().getPath());
     private final Supplier<RecipeManager> recipeManager;
-    private List<Recipe<?>> sortedRecipes = null;
+    @Nullable
+    private RecipeManager snapshotManager;
+    @Nullable
+    private volatile RecipeSnapshot snapshot;
+    // The snapshot of the last published reload, restored if the current reload is aborted
+    @Nullable
+    private RecipeManager previousSnapshotManager;
+    @Nullable
+    private RecipeSnapshot previousSnapshot;
     
     public RecipeManagerContextImpl(Supplier<RecipeManager> recipeManager) {
         this.recipeManager = recipeManager;
@@ -51,13 +61,86 @@ public class RecipeManagerContextImpl<P extends REIPlugin<?>> implements RecipeM
                 () -> () -> GameInstance.getServer().getRecipeManager());
     }
     
+    /**
+     * Returns the snapshot of the recipes used by the current reload, shared with every other reloadable of the same recipe manager.
+     *
+     * @return the snapshot of the recipes
+     */
+    public RecipeSnapshot getSnapshot() {
+        RecipeSnapshot snapshot = this.snapshot;
+        if (snapshot == null) {
+            RecipeManager manager = getRecipeManager();
+            this.snapshot = snapshot = RecipeSnapshot.of(manager);
+            this.snapshotManager = manager;
+        }
+        return snapshot;
+    }
+    
     @Override
     public List<Recipe<?>> getAllSortedRecipes() {
-        if (sortedRecipes == null) {
-            this.sortedRecipes = getRecipeManager().getRecipes().parallelStream().sorted(RECIPE_COMPARATOR).collect(Collectors.toList());
+        return getSnapshot().getSortedRecipes();
+    }
+    
+    @Override
+    public <T extends Recipe<?>> List<T> getAllSortedRecipes(RecipeType<T> type) {
+        return getSnapshot().getSortedRecipes(type);
+    }
+    
+    /**
+     * Compares the recipes of the recipe manager against the recipes used by the last reload, by id and serialized content.
+     *
+     * @return the difference, or {@code null} if the recipes used by the last reload are unknown,
+     * or if they are from another recipe manager
+     */
+    @Nullable
+    public RecipeDiff diffRecipes() {
+        RecipeSnapshot previous = this.snapshot;
+        if (previous == null) return null;
+        RecipeManager manager = getRecipeManager();
+        if (manager == null || manager != snapshotManager) return null;
+        RecipeSnapshot current = RecipeSnapshot.of(manager);
+        List<Recipe<?>> added = new ArrayList<>();
+        List<Recipe<?>> changed = new ArrayList<>();
+        for (Recipe<?> recipe : current.getSortedRecipes()) {
+            Recipe<?> previousRecipe = previous.byId(recipe.getId());
+            if (previousRecipe == null) {
+                added.add(recipe);
+            } else if (previousRecipe != recipe && !isSameRecipe(previousRecipe, recipe)) {
+                changed.add(recipe);
+            }
         }
-        
-        return Collections.unmodifiableList(sortedRecipes);
+        Set<ResourceLocation> removed = new HashSet<>();
+        for (Recipe<?> recipe : previous.getSortedRecipes()) {
+            if (current.indexOf(recipe.getId()) == -1) {
+                removed.add(recipe.getId());
+            }
+        }
+        return new RecipeDiff(manager, current, added, changed, removed);
+    }
+    
+    private static boolean isSameRecipe(Recipe<?> first, Recipe<?> second) {
+        if (first.getClass() != second.getClass() || first.getSerializer() != second.getSerializer()) return false;
+        try {
+            return serialize(first).equals(serialize(second));
+        } catch (Throwable throwable) {
+            return false;
+        }
+    }
+    
+    private static FriendlyByteBuf serialize(Recipe<?> recipe) {
+        FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
+        ((RecipeSerializer<Recipe<?>>) recipe.getSerializer()).toNetwork(buf, recipe);
+        return buf;
+    }
+    
+    /**
+     * Applies a difference computed by {@link #diffRecipes()} without a full reload.
+     *
+     * @param diff the difference
+     */
+    public void applyRecipeDiff(RecipeDiff diff) {
+        this.snapshotManager = diff.manager;
+        this.snapshot = diff.snapshot;
     }
     
     @Override
@@ -67,6 +150,56 @@ public class RecipeManagerContextImpl<P extends REIPlugin<?>> implements RecipeM
     
     @Override
     public void startReload() {
-        this.sortedRecipes = null;
+        this.previousSnapshotManager = snapshotManager;
+        this.previousSnapshot = snapshot;
+        this.snapshotManager = null;
+        this.snapshot = null;
+    }
+    
+    @Override
+    public void endReload() {
+        this.previousSnapshotManager = null;
+        this.previousSnapshot = null;
+    }
+    
+    @Override
+    public void abortReload() {
+        // Recipe diffs must keep comparing against the recipes of the published displays
+        this.snapshotManager = previousSnapshotManager;
+        this.snapshot = previousSnapshot;
+        this.previousSnapshotManager = null;
+        this.previousSnapshot = null;
+    }
+    
+    public static final class RecipeDiff {
+        private final RecipeManager manager;
+        private final RecipeSnapshot snapshot;
+        private final List<Recipe<?>> added;
+        private final List<Recipe<?>> changed;
+        private final Set<ResourceLocation> removed;
+        
+        private RecipeDiff(RecipeManager manager, RecipeSnapshot snapshot, List<Recipe<?>> added, List<Recipe<?>> changed, Set<ResourceLocation> removed) {
+            this.manager = manager;
+            this.snapshot = snapshot;
+            this.added = added;
+            this.changed = changed;
+            this.removed = removed;
+        }
+        
+        public List<Recipe<?>> getAdded() {
+            return added;
+        }
+        
+        public List<Recipe<?>> getChanged() {
+            return changed;
+        }
+        
+        public Set<ResourceLocation> getRemoved() {
+            return removed;
+        }
+        
+        public boolean isEmpty() {
+            return added.isEmpty() && changed.isEmpty() && removed.isEmpty();
+        }
     }
 }
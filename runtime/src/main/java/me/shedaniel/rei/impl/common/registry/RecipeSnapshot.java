@@ -0,0 +1,140 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.impl.common.registry;
+
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import me.shedaniel.rei.impl.common.util.WorkerPool;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.item.crafting.Recipe;
+import net.minecraft.world.item.crafting.RecipeManager;
+import net.minecraft.world.item.crafting.RecipeType;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * The recipes of a recipe manager sorted by id, built once per recipe manager generation and shared by every reloadable.
+ * Recipe managers updating their recipes in place must be invalidated with {@link #invalidate(RecipeManager)}.
+ */
+@ApiStatus.Internal
+public final class RecipeSnapshot {
+    private static final Map<RecipeManager, RecipeSnapshot> SNAPSHOTS = new WeakHashMap<>();
+    private final Recipe<?>[] recipes;
+    private final List<Recipe<?>> recipeList;
+    private final Object2IntMap<ResourceLocation> indices;
+    private final Map<RecipeType<?>, List<Recipe<?>>> recipesByType;
+    
+    private RecipeSnapshot(Collection<Recipe<?>> unsorted) {
+        Entry[] entries = new Entry[unsorted.size()];
+        int i = 0;
+        for (Recipe<?> recipe : unsorted) {
+            entries[i++] = new Entry(recipe);
+        }
+        // Invoked from the worker pool, so that the forked sorting tasks run there instead of on the common pool
+        WorkerPool.invoke(() -> {
+            Arrays.parallelSort(entries, Comparator.comparing((Entry entry) -> entry.key));
+            return null;
+        });
+        this.recipes = new Recipe[entries.length];
+        this.indices = new Object2IntOpenHashMap<>(entries.length);
+        this.indices.defaultReturnValue(-1);
+        Map<RecipeType<?>, List<Recipe<?>>> recipesByType = new HashMap<>();
+        for (i = 0; i < entries.length; i++) {
+            Recipe<?> recipe = entries[i].recipe;
+            this.recipes[i] = recipe;
+            this.indices.put(recipe.getId(), i);
+            recipesByType.computeIfAbsent(recipe.getType(), type -> new ArrayList<>()).add(recipe);
+        }
+        for (Map.Entry<RecipeType<?>, List<Recipe<?>>> entry : recipesByType.entrySet()) {
+            entry.setValue(Collections.unmodifiableList(entry.getValue()));
+        }
+        this.recipeList = Collections.unmodifiableList(Arrays.asList(recipes));
+        this.recipesByType = recipesByType;
+    }
+    
+    /**
+     * Returns the snapshot of the current recipes of the recipe manager, building it if the recipe manager has been invalidated.
+     *
+     * @param manager the recipe manager
+     * @return the snapshot
+     */
+    public static RecipeSnapshot of(RecipeManager manager) {
+        synchronized (SNAPSHOTS) {
+            RecipeSnapshot snapshot = SNAPSHOTS.get(manager);
+            if (snapshot == null) {
+                snapshot = new RecipeSnapshot(manager.getRecipes());
+                SNAPSHOTS.put(manager, snapshot);
+            }
+            return snapshot;
+        }
+    }
+    
+    public static void invalidate(RecipeManager manager) {
+        synchronized (SNAPSHOTS) {
+            SNAPSHOTS.remove(manager);
+        }
+    }
+    
+    public List<Recipe<?>> getSortedRecipes() {
+        return recipeList;
+    }
+    
+    public <T extends Recipe<?>> List<T> getSortedRecipes(RecipeType<T> type) {
+        return (List<T>) recipesByType.getOrDefault(type, Collections.emptyList());
+    }
+    
+    public int size() {
+        return recipes.length;
+    }
+    
+    /**
+     * Returns the index of the recipe in the sorted recipes.
+     *
+     * @param id the id of the recipe
+     * @return the index of the recipe, or {@code -1} if there is no such recipe
+     */
+    public int indexOf(ResourceLocation id) {
+        return indices.getInt(id);
+    }
+    
+    @Nullable
+    public Recipe<?> byId(ResourceLocation id) {
+        int index = indices.getInt(id);
+        return index == -1 ? null : recipes[index];
+    }
+    
+    private static class Entry {
+        private final String key;
+        private final Recipe<?> recipe;
+        
+        private Entry(Recipe<?> recipe) {
+            ResourceLocation id = recipe.getId();
+            // Sorts by namespace then path, the separator sorts before any character of a namespace
+            this.key = id.getNamespace() + '\u0000' + id.getPath();
+            this.recipe = recipe;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.shedaniel.rei.impl.common.registry;
+
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Thread-confined buffer of registrations, used when plugins are reloaded concurrently.
+ * Registries route their mutations through {@link #run(Runnable)}, which defers them while a buffer is captured
+ * on the current thread, so that the plugin manager can apply them later in plugin priority order.
+ */
+@ApiStatus.Internal
+public final class RegistrationBuffer {
+    private static final ThreadLocal<List<Runnable>> BUFFER = new ThreadLocal<>();
+    
+    private RegistrationBuffer() {}
+    
+    public static boolean isBuffering() {
+        return BUFFER.get() != null;
+    }
+    
+    public static void run(Runnable registration) {
+        List<Runnable> buffer = BUFFER.get();
+        if (buffer != null) {
+            buffer.add(registration);
+        } else {
+            registration.run();
+        }
+    }
+    
+    public static List<Runnable> capture(Runnable action) {
+        List<Runnable> previous = BUFFER.get();
+        List<Runnable> buffer = new ArrayList<>();
+        BUFFER.set(buffer);
+        try {
+            action.run();
+        } finally {
+            if (previous == null) {
+                BUFFER.remove();
+            } else {
+                BUFFER.set(previous);
+            }
+        }
+        return buffer;
+    }
+}
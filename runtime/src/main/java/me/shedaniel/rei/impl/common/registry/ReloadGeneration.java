@@ -0,0 +1,46 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.shedaniel.rei.impl.common.registry;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Registries build a private generation while reloading, and publish it with a single swap once done.
+ * Every other thread keeps reading the last published generation while a registry is reloading,
+ * only the reloading thread and the plugins it runs concurrently read the generation being built.
+ */
+@ApiStatus.Internal
+public final class ReloadGeneration {
+    private ReloadGeneration() {}
+    
+    /**
+     * Returns whether the current thread should read the last published generation.
+     *
+     * @param reloadThread the thread reloading the registry, or {@code null} if the registry is not reloading
+     * @return whether the current thread should read the last published generation
+     */
+    public static boolean readsPublished(@Nullable Thread reloadThread) {
+        return reloadThread != null && reloadThread != Thread.currentThread() && !RegistrationBuffer.isBuffering();
+    }
+}
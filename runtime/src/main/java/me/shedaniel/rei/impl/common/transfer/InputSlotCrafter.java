@@ -23,8 +23,11 @@
 
 package me.shedaniel.rei.impl.common.transfer;
 
-import it.unimi.dsi.fastutil.ints.IntArrayList;
-import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongList;
 import me.shedaniel.rei.api.common.category.CategoryIdentifier;
 import me.shedaniel.rei.api.common.display.Display;
 import me.shedaniel.rei.api.common.transfer.RecipeFinder;
@@ -32,16 +35,17 @@ import me.shedaniel.rei.api.common.transfer.info.MenuInfo;
 import me.shedaniel.rei.api.common.transfer.info.MenuInfoContext;
 import me.shedaniel.rei.api.common.transfer.info.MenuInfoRegistry;
 import me.shedaniel.rei.api.common.transfer.info.stack.StackAccessor;
-import me.shedaniel.rei.api.common.util.CollectionUtils;
-import net.minecraft.core.NonNullList;
 import net.minecraft.nbt.CompoundTag;
+import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.Container;
 import net.minecraft.world.inventory.AbstractContainerMenu;
 import net.minecraft.world.item.ItemStack;
-import net.minecraft.world.item.crafting.Ingredient;
+import net.minecraft.world.item.crafting.Recipe;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
@@ -53,18 +57,32 @@ public class InputSlotCrafter<T extends AbstractContainerMenu, C extends Contain
     protected MenuInfo<T, D> menuInfo;
     private Iterable<StackAccessor> inputStacks;
     private Iterable<StackAccessor> inventoryStacks;
+    @Nullable
+    private Long2ObjectMap<Deque<StackAccessor>> inventoryIndex;
     private ServerPlayer player;
     
-    private InputSlotCrafter(CategoryIdentifier<D> category, T container, CompoundTag display, MenuInfo<T, D> menuInfo) {
+    private InputSlotCrafter(CategoryIdentifier<D> category, T container, MenuInfo<T, D> menuInfo) {
         this.category = category;
         this.container = container;
         this.menuInfo = menuInfo;
-        this.display = menuInfo.read(this, display);
     }
     
     public static <T extends AbstractContainerMenu, C extends Container, D extends Display> InputSlotCrafter<T, C, D> start(CategoryIdentifier<D> category, T menu, ServerPlayer player, CompoundTag display, boolean hasShift) {
         MenuInfo<T, D> menuInfo = Objects.requireNonNull(MenuInfoRegistry.getInstance().get(category, (Class<T>) menu.getClass()), "Container Info does not exist on the server!");
-        InputSlotCrafter<T, C, D> crafter = new InputSlotCrafter<>(category, menu, display, menuInfo);
+        InputSlotCrafter<T, C, D> crafter = new InputSlotCrafter<>(category, menu, menuInfo);
+        crafter.display = menuInfo.read(crafter, display);
+        crafter.fillInputSlots(player, hasShift);
+        return crafter;
+    }
+    
+    public static <T extends AbstractContainerMenu, C extends Container, D extends Display> InputSlotCrafter<T, C, D> start(CategoryIdentifier<D> category, T menu, ServerPlayer player, ResourceLocation recipeId, boolean hasShift) {
+        MenuInfo<T, D> menuInfo = Objects.requireNonNull(MenuInfoRegistry.getInstance().get(category, (Class<T>) menu.getClass()), "Container Info does not exist on the server!");
+        Recipe<?> recipe = player.getServer().getRecipeManager().byKey(recipeId).orElseThrow(() -> new IllegalStateException("Recipe " + recipeId + " does not exist on the server!"));
+        InputSlotCrafter<T, C, D> crafter = new InputSlotCrafter<>(category, menu, menuInfo);
+        crafter.display = menuInfo.read(crafter, recipe);
+        if (crafter.display == null) {
+            throw new IllegalStateException("Recipe " + recipeId + " cannot be transferred to the menu!");
+        }
         crafter.fillInputSlots(player, hasShift);
         return crafter;
     }
@@ -80,12 +98,9 @@ public class InputSlotCrafter<T extends AbstractContainerMenu, C extends Contain
         
         RecipeFinder recipeFinder = new RecipeFinder();
         this.menuInfo.getRecipeFinderPopulator().populate(this, recipeFinder);
-        NonNullList<Ingredient> ingredients = NonNullList.create();
-        for (List<ItemStack> itemStacks : this.menuInfo.getDisplayInputs(this)) {
-            ingredients.add(CollectionUtils.toIngredient(itemStacks));
-        }
+        List<List<ItemStack>> ingredients = this.menuInfo.getDisplayInputs(this);
         
-        if (recipeFinder.findRecipe(ingredients, null)) {
+        if (recipeFinder.findMaxCrafts(ingredients, 1, null) > 0) {
             this.fillInputSlots(recipeFinder, ingredients, hasShift);
         } else {
             this.cleanInputs();
@@ -98,73 +113,102 @@ public class InputSlotCrafter<T extends AbstractContainerMenu, C extends Contain
         this.menuInfo.markDirty(this);
     }
     
-    public void alignRecipeToGrid(Iterable<StackAccessor> inputStacks, Iterator<Integer> recipeItemIds, int craftsAmount) {
+    public void alignRecipeToGrid(RecipeFinder recipeFinder, Iterable<StackAccessor> inputStacks, LongIterator recipeItemKeys, int craftsAmount) {
         for (StackAccessor inputStack : inputStacks) {
-            if (!recipeItemIds.hasNext()) {
+            if (!recipeItemKeys.hasNext()) {
                 return;
             }
             
-            this.acceptAlignedInput(recipeItemIds.next(), inputStack, craftsAmount);
+            this.acceptAlignedInput(recipeFinder, recipeItemKeys.nextLong(), inputStack, craftsAmount);
         }
     }
     
-    public void acceptAlignedInput(Integer recipeItemId, StackAccessor inputStack, int craftsAmount) {
-        ItemStack toBeTakenStack = RecipeFinder.getStackFromId(recipeItemId);
-        if (!toBeTakenStack.isEmpty()) {
-            for (int i = 0; i < craftsAmount; ++i) {
-                this.fillInputSlot(inputStack, toBeTakenStack);
-            }
+    public void acceptAlignedInput(RecipeFinder recipeFinder, long recipeItemKey, StackAccessor inputStack, int craftsAmount) {
+        if (recipeItemKey != 0 && !recipeFinder.getStackFromKey(recipeItemKey).isEmpty()) {
+            this.fillInputSlot(inputStack, recipeItemKey, craftsAmount);
         }
     }
     
-    protected void fillInputSlot(StackAccessor slot, ItemStack toBeTakenStack) {
-        StackAccessor takenSlot = this.takeInventoryStack(toBeTakenStack);
-        if (takenSlot != null) {
+    protected void fillInputSlot(StackAccessor slot, long recipeItemKey, int amount) {
+        while (amount > 0) {
+            // Only merge stacks with the same tags, different stacks may share a key when their hashes collide
+            StackAccessor takenSlot = this.takeInventoryStack(recipeItemKey, slot.getItemStack());
+            if (takenSlot == null) {
+                return;
+            }
+            
             ItemStack takenStack = takenSlot.getItemStack().copy();
-            if (!takenStack.isEmpty()) {
-                if (takenStack.getCount() > 1) {
-                    takenSlot.takeStack(1);
-                } else {
-                    takenSlot.setItemStack(ItemStack.EMPTY);
-                }
-                
-                takenStack.setCount(1);
-                if (slot.getItemStack().isEmpty()) {
-                    slot.setItemStack(takenStack);
-                } else {
-                    slot.getItemStack().grow(1);
-                }
+            int takenCount = Math.min(amount, takenStack.getCount());
+            if (takenStack.getCount() > takenCount) {
+                takenSlot.takeStack(takenCount);
+            } else {
+                takenSlot.setItemStack(ItemStack.EMPTY);
+            }
+            
+            takenStack.setCount(takenCount);
+            if (slot.getItemStack().isEmpty()) {
+                slot.setItemStack(takenStack);
+            } else {
+                slot.getItemStack().grow(takenCount);
             }
+            amount -= takenCount;
         }
     }
     
-    protected void fillInputSlots(RecipeFinder recipeFinder, NonNullList<Ingredient> ingredients, boolean hasShift) {
-        int recipeCrafts = recipeFinder.countRecipeCrafts(ingredients, null);
-        int amountToFill = hasShift ? recipeCrafts : 1;
-        IntList recipeItemIds = new IntArrayList();
-        if (recipeFinder.findRecipe(ingredients, recipeItemIds, amountToFill)) {
+    protected void fillInputSlots(RecipeFinder recipeFinder, List<List<ItemStack>> ingredients, boolean hasShift) {
+        LongList recipeItemKeys = new LongArrayList();
+        int amountToFill = recipeFinder.findMaxCrafts(ingredients, hasShift ? Integer.MAX_VALUE : 1, recipeItemKeys);
+        if (amountToFill > 0) {
             int finalCraftsAmount = amountToFill;
             
-            for (int itemId : recipeItemIds) {
-                finalCraftsAmount = Math.min(finalCraftsAmount, RecipeFinder.getStackFromId(itemId).getMaxStackSize());
+            for (int i = 0; i < recipeItemKeys.size(); i++) {
+                long key = recipeItemKeys.getLong(i);
+                if (key != 0) {
+                    finalCraftsAmount = Math.min(finalCraftsAmount, recipeFinder.getStackFromKey(key).getMaxStackSize());
+                }
             }
             
-            if (recipeFinder.findRecipe(ingredients, recipeItemIds, finalCraftsAmount)) {
+            // The assignment may differ for a smaller amount of crafts
+            if (finalCraftsAmount == amountToFill || recipeFinder.findMaxCrafts(ingredients, finalCraftsAmount, recipeItemKeys) == finalCraftsAmount) {
                 this.cleanInputs();
-                this.alignRecipeToGrid(inputStacks, recipeItemIds.iterator(), finalCraftsAmount);
+                this.alignRecipeToGrid(recipeFinder, inputStacks, recipeItemKeys.iterator(), finalCraftsAmount);
             }
         }
     }
     
     protected void cleanInputs() {
         this.menuInfo.getInputCleanHandler().clean(this);
+        // Cleaning moves items back into the inventory
+        this.inventoryIndex = null;
     }
     
     @Nullable
-    public StackAccessor takeInventoryStack(ItemStack itemStack) {
-        for (StackAccessor inventoryStack : inventoryStacks) {
-            ItemStack itemStack1 = inventoryStack.getItemStack();
-            if (!itemStack1.isEmpty() && areItemsEqual(itemStack, itemStack1) && !itemStack1.isDamaged() && !itemStack1.isEnchanted() && !itemStack1.hasCustomHoverName()) {
+    public StackAccessor takeInventoryStack(long recipeItemKey) {
+        return takeInventoryStack(recipeItemKey, ItemStack.EMPTY);
+    }
+    
+    /**
+     * Returns an inventory slot holding a stack of the given key, which can be merged into the target stack.
+     *
+     * @param recipeItemKey the key of the stack
+     * @param target        the stack the taken stack is merged into, or an empty stack
+     * @return the inventory slot, or {@code null} if there is none
+     */
+    @Nullable
+    public StackAccessor takeInventoryStack(long recipeItemKey, ItemStack target) {
+        if (inventoryIndex == null) {
+            inventoryIndex = indexInventory();
+        }
+        Deque<StackAccessor> accessors = inventoryIndex.get(recipeItemKey);
+        if (accessors == null) return null;
+        Iterator<StackAccessor> iterator = accessors.iterator();
+        while (iterator.hasNext()) {
+            StackAccessor inventoryStack = iterator.next();
+            ItemStack itemStack = inventoryStack.getItemStack();
+            if (itemStack.isEmpty() || RecipeFinder.getStackKey(itemStack) != recipeItemKey) {
+                // The slot was emptied or changed by a previous take
+                iterator.remove();
+            } else if (target.isEmpty() || ItemStack.isSameItemSameTags(target, itemStack)) {
                 return inventoryStack;
             }
         }
@@ -172,8 +216,15 @@ public class InputSlotCrafter<T extends AbstractContainerMenu, C extends Contain
         return null;
     }
     
-    private static boolean areItemsEqual(ItemStack stack1, ItemStack stack2) {
-        return stack1.getItem() == stack2.getItem() && ItemStack.tagMatches(stack1, stack2);
+    private Long2ObjectMap<Deque<StackAccessor>> indexInventory() {
+        Long2ObjectMap<Deque<StackAccessor>> index = new Long2ObjectOpenHashMap<>();
+        for (StackAccessor inventoryStack : inventoryStacks) {
+            ItemStack itemStack = inventoryStack.getItemStack();
+            if (!itemStack.isEmpty() && !itemStack.isDamaged() && !itemStack.isEnchanted() && !itemStack.hasCustomHoverName()) {
+                index.computeIfAbsent(RecipeFinder.getStackKey(itemStack), key -> new ArrayDeque<>()).addLast(inventoryStack);
+            }
+        }
+        return index;
     }
     
     @Override
@@ -30,29 +30,40 @@ import me.shedaniel.rei.api.common.display.Display;
 import me.shedaniel.rei.api.common.plugins.REIServerPlugin;
 import me.shedaniel.rei.api.common.transfer.info.MenuInfo;
 import me.shedaniel.rei.api.common.transfer.info.MenuInfoRegistry;
+import me.shedaniel.rei.impl.common.registry.ReloadGeneration;
 import net.minecraft.world.inventory.AbstractContainerMenu;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
 import java.util.Map;
 import java.util.function.Predicate;
 
 public class MenuInfoRegistryImpl implements MenuInfoRegistry {
-    private final Map<CategoryIdentifier<?>, Map<Class<? extends AbstractContainerMenu>, MenuInfo<?, ?>>> map = Maps.newLinkedHashMap();
-    private final Map<Predicate<CategoryIdentifier<?>>, List<MenuInfo<?, ?>>> mapGeneric = Maps.newLinkedHashMap();
+    private volatile Generation published = new Generation();
+    @Nullable
+    private volatile Generation building;
+    @Nullable
+    private volatile Thread reloadThread;
+    
+    private Generation generation() {
+        Generation building = this.building;
+        return building != null && !ReloadGeneration.readsPublished(reloadThread) ? building : published;
+    }
     
     @Override
     public <C extends AbstractContainerMenu, D extends Display> void register(CategoryIdentifier<D> category, Class<C> menuClass, MenuInfo<C, D> menuInfo) {
-        map.computeIfAbsent(category, id -> Maps.newLinkedHashMap()).put(menuClass, menuInfo);
+        generation().map.computeIfAbsent(category, id -> Maps.newLinkedHashMap()).put(menuClass, menuInfo);
     }
     
     @Override
     public <D extends Display> void registerGeneric(Predicate<CategoryIdentifier<?>> categoryPredicate, MenuInfo<?, D> menuInfo) {
-        mapGeneric.computeIfAbsent(categoryPredicate, id -> Lists.newArrayList()).add(menuInfo);
+        generation().mapGeneric.computeIfAbsent(categoryPredicate, id -> Lists.newArrayList()).add(menuInfo);
     }
     
     @Override
     public <T extends AbstractContainerMenu, D extends Display> MenuInfo<T, D> get(CategoryIdentifier<D> category, Class<T> menuClass) {
-        Map<Class<? extends AbstractContainerMenu>, MenuInfo<?, ?>> infoMap = map.get(category);
+        Generation generation = generation();
+        Map<Class<? extends AbstractContainerMenu>, MenuInfo<?, ?>> infoMap = generation.map.get(category);
         if (infoMap != null && !infoMap.isEmpty()) {
             if (infoMap.containsKey(menuClass)) {
                 return (MenuInfo<T, D>) infoMap.get(menuClass);
@@ -64,7 +75,7 @@ public class MenuInfoRegistryImpl implements MenuInfoRegistry {
             }
         }
         
-        for (Map.Entry<Predicate<CategoryIdentifier<?>>, List<MenuInfo<?, ?>>> entry : mapGeneric.entrySet()) {
+        for (Map.Entry<Predicate<CategoryIdentifier<?>>, List<MenuInfo<?, ?>>> entry : generation.mapGeneric.entrySet()) {
             if (entry.getKey().test(category) && !entry.getValue().isEmpty()) {
                 List<MenuInfo<?, ?>> infoList = entry.getValue();
                 if (!infoList.isEmpty()) {
@@ -77,17 +88,36 @@ public class MenuInfoRegistryImpl implements MenuInfoRegistry {
     
     @Override
     public int infoSize() {
-        return map.size() + mapGeneric.size();
+        Generation generation = generation();
+        return generation.map.size() + generation.mapGeneric.size();
     }
     
     @Override
     public void startReload() {
-        map.clear();
-        mapGeneric.clear();
+        this.building = new Generation();
+        this.reloadThread = Thread.currentThread();
+    }
+    
+    @Override
+    public void endReload() {
+        this.published = building;
+        this.building = null;
+        this.reloadThread = null;
+    }
+    
+    @Override
+    public void abortReload() {
+        this.building = null;
+        this.reloadThread = null;
     }
     
     @Override
     public void acceptPlugin(REIServerPlugin plugin) {
         plugin.registerMenuInfo(this);
     }
+    
+    private static class Generation {
+        private final Map<CategoryIdentifier<?>, Map<Class<? extends AbstractContainerMenu>, MenuInfo<?, ?>>> map = Maps.newLinkedHashMap();
+        private final Map<Predicate<CategoryIdentifier<?>>, List<MenuInfo<?, ?>>> mapGeneric = Maps.newLinkedHashMap();
+    }
 }
@@ -0,0 +1,229 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.impl.common.util;
+
+import me.shedaniel.rei.RoughlyEnoughItemsCore;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * The work-stealing pool running every parallel task of REI, so that REI does not compete with other mods on the common pool.
+ * Lists are split in chunks sized from the measured cost per entry of each {@link Workload}.
+ */
+@ApiStatus.Internal
+public final class WorkerPool {
+    private static final ForkJoinPool POOL = new ForkJoinPool(Math.max(1, Runtime.getRuntime().availableProcessors() - 1), new ForkJoinPool.ForkJoinWorkerThreadFactory() {
+        private final AtomicInteger threadId = new AtomicInteger();
+        
+        @Override
+        public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("REI-Worker-" + threadId.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }, null, false);
+    private static final long TIMEOUT_SECONDS = 10;
+    private static final LongAdder COMPLETED_CHUNKS = new LongAdder();
+    private static final LongAdder CANCELLED_CHUNKS = new LongAdder();
+    
+    private WorkerPool() {}
+    
+    public static ForkJoinPool getPool() {
+        return POOL;
+    }
+    
+    /**
+     * Runs a task using parallel streams on this pool instead of the common pool, parallel streams use the pool of the calling worker.
+     *
+     * @param task the task
+     * @param <T>  the type of the result
+     * @return the result of the task
+     */
+    public static <T> T invoke(Supplier<T> task) {
+        if (ForkJoinTask.inForkJoinPool() && ForkJoinTask.getPool() == POOL) {
+            return task.get();
+        }
+        return POOL.submit((Callable<T>) task::get).join();
+    }
+    
+    public static <T> List<T> filter(Workload workload, List<T> list, Predicate<T> predicate, BooleanSupplier cancelled) {
+        return filterAndMap(workload, list, predicate, Function.identity(), cancelled);
+    }
+    
+    /**
+     * Filters and maps the list in chunks, keeping the order of the list.
+     * Chunks not started yet are skipped once {@code cancelled} returns {@code true}, and started chunks stop at their next entry.
+     * Chunks still unfinished after the timeout are processed again on the calling thread, so the result is only partial when cancelled.
+     *
+     * @param workload  the workload, used to size the chunks
+     * @param list      the list
+     * @param predicate the predicate
+     * @param function  the mapping function
+     * @param cancelled whether the task has been cancelled
+     * @return the filtered and mapped list, or a partial list if the task has been cancelled
+     * @throws CompletionException if the predicate or the mapping function threw
+     */
+    public static <T, R> List<R> filterAndMap(Workload workload, List<T> list, Predicate<T> predicate, Function<T, R> function, BooleanSupplier cancelled) {
+        int size = list.size();
+        int chunkSize = workload.getChunkSize(size);
+        if (size <= chunkSize) {
+            return filterAndMapChunk(workload, list, predicate, function, cancelled);
+        }
+        List<List<T>> chunks = new ArrayList<>((size + chunkSize - 1) / chunkSize);
+        List<CompletableFuture<List<R>>> futures = new ArrayList<>(chunks.size());
+        for (int start = 0; start < size; start += chunkSize) {
+            List<T> chunk = list.subList(start, Math.min(size, start + chunkSize));
+            chunks.add(chunk);
+            futures.add(CompletableFuture.supplyAsync(() -> filterAndMapChunk(workload, chunk, predicate, function, cancelled), POOL));
+        }
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            RoughlyEnoughItemsCore.LOGGER.warn("Workload [%s] of %d entries timed out, finishing the remaining chunks on the calling thread", workload.name, size);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        } catch (ExecutionException e) {
+            throw new CompletionException(e.getCause());
+        }
+        List<R> result = new ArrayList<>();
+        for (int i = 0; i < futures.size(); i++) {
+            CompletableFuture<List<R>> future = futures.get(i);
+            if (future.isDone()) {
+                // Rethrows the failure of the chunk, if any
+                result.addAll(future.join());
+            } else {
+                future.cancel(false);
+                result.addAll(filterAndMapChunk(workload, chunks.get(i), predicate, function, cancelled));
+            }
+        }
+        return result;
+    }
+    
+    private static <T, R> List<R> filterAndMapChunk(Workload workload, List<T> chunk, Predicate<T> predicate, Function<T, R> function, BooleanSupplier cancelled) {
+        if (cancelled.getAsBoolean()) {
+            CANCELLED_CHUNKS.increment();
+            return Collections.emptyList();
+        }
+        long startTime = System.nanoTime();
+        List<R> output = new ArrayList<>();
+        int processed = 0;
+        for (T value : chunk) {
+            if (cancelled.getAsBoolean()) {
+                CANCELLED_CHUNKS.increment();
+                return output;
+            }
+            if (predicate.test(value)) {
+                output.add(function.apply(value));
+            }
+            processed++;
+        }
+        workload.record(processed, System.nanoTime() - startTime);
+        COMPLETED_CHUNKS.increment();
+        return output;
+    }
+    
+    /**
+     * @return the number of tasks queued in the pool, including submissions not yet picked by a worker
+     */
+    public static long getQueueDepth() {
+        return POOL.getQueuedTaskCount() + POOL.getQueuedSubmissionCount();
+    }
+    
+    /**
+     * @return the fraction of the workers currently running a task
+     */
+    public static double getUtilization() {
+        return (double) POOL.getActiveThreadCount() / POOL.getParallelism();
+    }
+    
+    public static long getCompletedChunks() {
+        return COMPLETED_CHUNKS.sum();
+    }
+    
+    public static long getCancelledChunks() {
+        return CANCELLED_CHUNKS.sum();
+    }
+    
+    /**
+     * A kind of task, tracking the average cost per entry to size the chunks of the next tasks.
+     */
+    public static final class Workload {
+        private static final long TARGET_CHUNK_NANOS = TimeUnit.MICROSECONDS.toNanos(500);
+        private static final int MIN_CHUNK_SIZE = 16;
+        private static final int MAX_CHUNK_SIZE = 8192;
+        private final String name;
+        private final IntSupplier initialChunkSize;
+        private volatile double nanosPerEntry = -1;
+        
+        public Workload(String name, int initialChunkSize) {
+            this(name, () -> initialChunkSize);
+        }
+        
+        /**
+         * @param name             the name of the workload
+         * @param initialChunkSize the chunk size used until the cost per entry has been measured
+         */
+        public Workload(String name, IntSupplier initialChunkSize) {
+            this.name = name;
+            this.initialChunkSize = initialChunkSize;
+        }
+        
+        public int getChunkSize(int size) {
+            double nanosPerEntry = this.nanosPerEntry;
+            int chunkSize = nanosPerEntry <= 0 ? Math.max(1, initialChunkSize.getAsInt()) : (int) Math.min(MAX_CHUNK_SIZE, TARGET_CHUNK_NANOS / nanosPerEntry);
+            // Keep every worker busy
+            chunkSize = Math.min(chunkSize, (size + POOL.getParallelism() - 1) / POOL.getParallelism());
+            return Math.max(MIN_CHUNK_SIZE, chunkSize);
+        }
+        
+        private void record(int entries, long nanos) {
+            if (entries <= 0) return;
+            double measured = (double) nanos / entries;
+            double nanosPerEntry = this.nanosPerEntry;
+            this.nanosPerEntry = nanosPerEntry <= 0 ? measured : nanosPerEntry * 0.75 + measured * 0.25;
+        }
+        
+        public double getNanosPerEntry() {
+            return nanosPerEntry;
+        }
+        
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
@@ -46,11 +46,15 @@ import net.minecraft.client.gui.screens.inventory.AbstractContainerScreen;
 import net.minecraft.client.gui.screens.recipebook.RecipeUpdateListener;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.network.chat.TranslatableComponent;
+import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.inventory.AbstractContainerMenu;
 import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.crafting.Recipe;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
+import java.util.Optional;
 
 @Environment(EnvType.CLIENT)
 public class DefaultCategoryHandler implements TransferHandler {
@@ -94,11 +98,39 @@ public class DefaultCategoryHandler implements TransferHandler {
         buf.writeResourceLocation(display.getCategoryIdentifier().getIdentifier());
         buf.writeBoolean(Screen.hasShiftDown());
         
-        buf.writeNbt(menuInfo.save(menuInfoContext, display));
-        NetworkManager.sendToServer(RoughlyEnoughItemsNetwork.MOVE_ITEMS_PACKET, buf);
+        if (NetworkManager.canServerReceive(RoughlyEnoughItemsNetwork.MOVE_ITEMS_NEW_PACKET)) {
+            ResourceLocation recipeId = getTransferableRecipeId(context, menuInfo, menuInfoContext, display);
+            if (recipeId != null) {
+                buf.writeByte(RoughlyEnoughItemsNetwork.MOVE_ITEMS_RECIPE);
+                buf.writeResourceLocation(recipeId);
+            } else {
+                buf.writeByte(RoughlyEnoughItemsNetwork.MOVE_ITEMS_DISPLAY);
+                buf.writeNbt(menuInfo.save(menuInfoContext, display));
+            }
+            NetworkManager.sendToServer(RoughlyEnoughItemsNetwork.MOVE_ITEMS_NEW_PACKET, buf);
+        } else {
+            buf.writeNbt(menuInfo.save(menuInfoContext, display));
+            NetworkManager.sendToServer(RoughlyEnoughItemsNetwork.MOVE_ITEMS_PACKET, buf);
+        }
         return Result.createSuccessful();
     }
     
+    /**
+     * Returns the id of the recipe backing the display, if the server can recreate the display from it.
+     * The recipes on the client are synced from the server, so a recipe known here is known by the server.
+     */
+    @Nullable
+    private static ResourceLocation getTransferableRecipeId(Context context, MenuInfo<AbstractContainerMenu, Display> menuInfo,
+            MenuInfoContext<AbstractContainerMenu, Player, Display> menuInfoContext, Display display) {
+        Optional<ResourceLocation> recipeId = display.getDisplayLocation();
+        if (!recipeId.isPresent() || context.getMinecraft().getConnection() == null) return null;
+        Optional<? extends Recipe<?>> recipe = context.getMinecraft().getConnection().getRecipeManager().byKey(recipeId.get());
+        if (recipe.isPresent() && menuInfo.read(menuInfoContext, recipe.get()) != null) {
+            return recipeId.get();
+        }
+        return null;
+    }
+    
     @Override
     public double getPriority() {
         return -10;
@@ -144,10 +176,10 @@ public class DefaultCategoryHandler implements TransferHandler {
             for (ItemStack possibleStack : possibleStacks) {
                 if (!done) {
                     int invRequiredCount = possibleStack.getCount();
-                    int key = RecipeFinder.getItemId(possibleStack);
-                    while (invRequiredCount > 0 && recipeFinder.contains(key)) {
+                    long key = RecipeFinder.getStackKey(possibleStack);
+                    while (invRequiredCount > 0 && recipeFinder.containsStack(key)) {
                         invRequiredCount--;
-                        recipeFinder.take(key, 1);
+                        recipeFinder.takeStack(key, 1);
                     }
                     if (invRequiredCount <= 0) {
                         done = true;
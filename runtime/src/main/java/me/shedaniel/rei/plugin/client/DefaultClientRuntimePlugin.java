@@ -83,6 +83,11 @@ import java.util.stream.Stream;
 public class DefaultClientRuntimePlugin implements REIClientPlugin {
     public static final ResourceLocation PLUGIN = new ResourceLocation("roughlyenoughitems", "default_runtime_plugin");
     
+    @Override
+    public boolean isConcurrent() {
+        return true;
+    }
+    
     @Override
     public void registerEntryTypes(EntryTypeRegistry registry) {
         registry.register(VanillaEntryTypes.ITEM, new ItemEntryDefinition());
@@ -32,6 +32,7 @@ import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
 import it.unimi.dsi.fastutil.objects.ReferenceSet;
 import me.shedaniel.math.Point;
 import me.shedaniel.math.Rectangle;
+import me.shedaniel.rei.api.client.config.ConfigObject;
 import me.shedaniel.rei.api.client.entry.renderer.AbstractEntryRenderer;
 import me.shedaniel.rei.api.client.entry.renderer.BatchEntryRenderer;
 import me.shedaniel.rei.api.client.entry.renderer.EntryRenderer;
@@ -65,6 +66,8 @@ import org.jetbrains.annotations.Nullable;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 public class ItemEntryDefinition implements EntryDefinition<ItemStack>, EntrySerializer<ItemStack> {
     private final EntryRenderer<ItemStack> renderer = new ItemEntryRenderer();
@@ -186,17 +189,57 @@ public class ItemEntryDefinition implements EntryDefinition<ItemStack>, EntrySer
     
     @SuppressWarnings("deprecation")
     public class ItemEntryRenderer extends AbstractEntryRenderer<ItemStack> implements BatchEntryRenderer<ItemStack> {
+        // Keyed by the identity of the stacks, models are only resolved again after the models are reloaded
+        private final Map<ItemStack, BakedModel> modelCache = new WeakHashMap<>();
+        @Nullable
+        private BakedModel modelCacheMissingModel;
+        // Tiles are only baked at the start of a batch, single entries render live instead of queueing tiles
+        private boolean renderingSingle;
+        
         @Override
         public int getBatchId(EntryStack<ItemStack> entry) {
-            return 1738923 + (getModelFromStack(entry.getValue()).usesBlockLight() ? 1 : 0);
+            return 1738923 + (getModel(entry).usesBlockLight() ? 1 : 0);
+        }
+        
+        /**
+         * Returns the GUI model of the entry, shared between batching and rendering.
+         *
+         * @param entry the entry
+         * @return the baked model
+         */
+        public BakedModel getModel(EntryStack<ItemStack> entry) {
+            return getModelFromStack(entry.getValue());
         }
         
         private BakedModel getModelFromStack(ItemStack stack) {
-            return Minecraft.getInstance().getItemRenderer().getModel(stack, null, null);
+            BakedModel missingModel = Minecraft.getInstance().getModelManager().getMissingModel();
+            if (modelCacheMissingModel != missingModel) {
+                modelCache.clear();
+                modelCacheMissingModel = missingModel;
+            }
+            BakedModel model = modelCache.get(stack);
+            if (model == null) {
+                model = Minecraft.getInstance().getItemRenderer().getModel(stack, null, null);
+                modelCache.put(stack, model);
+            }
+            return model;
+        }
+        
+        @Override
+        public void render(EntryStack<ItemStack> entry, PoseStack matrices, Rectangle bounds, int mouseX, int mouseY, float delta) {
+            renderingSingle = true;
+            try {
+                BatchEntryRenderer.super.render(entry, matrices, bounds, mouseX, mouseY, delta);
+            } finally {
+                renderingSingle = false;
+            }
         }
         
         @Override
         public void startBatch(EntryStack<ItemStack> entry, PoseStack matrices, float delta) {
+            if (!renderingSingle && ConfigObject.getInstance().doesCacheItemIcons()) {
+                ItemIconAtlas.INSTANCE.bakePending();
+            }
             Minecraft.getInstance().getTextureManager().bind(TextureAtlas.LOCATION_BLOCKS);
             Minecraft.getInstance().getTextureManager().getTexture(TextureAtlas.LOCATION_BLOCKS).setFilter(false, false);
             RenderSystem.pushMatrix();
@@ -206,7 +249,7 @@ public class ItemEntryDefinition implements EntryDefinition<ItemStack>, EntrySer
             RenderSystem.enableBlend();
             RenderSystem.blendFunc(GlStateManager.SourceFactor.SRC_ALPHA, GlStateManager.DestFactor.ONE_MINUS_SRC_ALPHA);
             RenderSystem.color4f(1.0F, 1.0F, 1.0F, 1.0F);
-            boolean sideLit = getModelFromStack(entry.getValue()).usesBlockLight();
+            boolean sideLit = getModel(entry).usesBlockLight();
             if (!sideLit)
                 Lighting.setupForFlatItems();
         }
@@ -215,10 +258,14 @@ public class ItemEntryDefinition implements EntryDefinition<ItemStack>, EntrySer
         public void renderBase(EntryStack<ItemStack> entry, PoseStack matrices, MultiBufferSource.BufferSource immediate, Rectangle bounds, int mouseX, int mouseY, float delta) {
             if (!entry.isEmpty()) {
                 ItemStack stack = entry.getValue();
+                BakedModel model = getModelFromStack(stack);
+                if (!renderingSingle && ConfigObject.getInstance().doesCacheItemIcons() && ItemIconAtlas.INSTANCE.render(stack, model, matrices, immediate, bounds, 100.0F + entry.getZ())) {
+                    return;
+                }
                 matrices.pushPose();
                 matrices.translate(bounds.getCenterX(), bounds.getCenterY(), 100.0F + entry.getZ());
                 matrices.scale(bounds.getWidth(), (bounds.getWidth() + bounds.getHeight()) / -2f, bounds.getHeight());
-                Minecraft.getInstance().getItemRenderer().render(stack, ItemTransforms.TransformType.GUI, false, matrices, immediate, 15728880, OverlayTexture.NO_OVERLAY, getModelFromStack(stack));
+                Minecraft.getInstance().getItemRenderer().render(stack, ItemTransforms.TransformType.GUI, false, matrices, immediate, 15728880, OverlayTexture.NO_OVERLAY, model);
                 matrices.popPose();
             }
         }
@@ -237,7 +284,7 @@ public class ItemEntryDefinition implements EntryDefinition<ItemStack>, EntrySer
             RenderSystem.enableDepthTest();
             RenderSystem.disableAlphaTest();
             RenderSystem.disableRescaleNormal();
-            boolean sideLit = getModelFromStack(entry.getValue()).usesBlockLight();
+            boolean sideLit = getModel(entry).usesBlockLight();
             if (!sideLit)
                 Lighting.setupFor3DItems();
             RenderSystem.popMatrix();
@@ -0,0 +1,297 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.plugin.client.entry;
+
+import com.mojang.blaze3d.pipeline.RenderTarget;
+import com.mojang.blaze3d.platform.GlStateManager;
+import com.mojang.blaze3d.platform.Lighting;
+import com.mojang.blaze3d.systems.RenderSystem;
+import com.mojang.blaze3d.vertex.DefaultVertexFormat;
+import com.mojang.blaze3d.vertex.PoseStack;
+import com.mojang.blaze3d.vertex.VertexConsumer;
+import com.mojang.math.Matrix4f;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import me.shedaniel.math.Rectangle;
+import me.shedaniel.rei.api.common.entry.comparison.ComparisonContext;
+import me.shedaniel.rei.api.common.entry.comparison.ItemComparatorRegistry;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.renderer.MultiBufferSource;
+import net.minecraft.client.renderer.RenderType;
+import net.minecraft.client.renderer.block.model.BakedQuad;
+import net.minecraft.client.renderer.block.model.ItemTransforms;
+import net.minecraft.client.renderer.texture.AbstractTexture;
+import net.minecraft.client.renderer.texture.OverlayTexture;
+import net.minecraft.client.resources.model.BakedModel;
+import net.minecraft.core.Direction;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.packs.resources.ResourceManager;
+import net.minecraft.world.item.ItemStack;
+import org.jetbrains.annotations.Nullable;
+import org.lwjgl.opengl.GL11;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Caches the GUI rendering of items into an offscreen texture atlas, so every cached item is drawn as a single textured quad.
+ * Items with enchantment glint, animated sprites or custom renderers are never cached, and are rendered live.
+ * The atlas is invalidated when the models are reloaded or the GUI scale changes.
+ */
+@Environment(EnvType.CLIENT)
+class ItemIconAtlas {
+    static final ItemIconAtlas INSTANCE = new ItemIconAtlas();
+    private static final ResourceLocation LOCATION = new ResourceLocation("roughlyenoughitems", "dynamic/item_icon_atlas");
+    private static final int ATLAS_SIZE = 2048;
+    private static final int MAX_BAKES_PER_FRAME = 64;
+    private static final Tile LIVE = new Tile(null, -1, -1);
+    
+    private final Reference2ObjectMap<BakedModel, Long2ObjectMap<Tile>> tiles = new Reference2ObjectOpenHashMap<>();
+    private final List<Tile> pending = new ArrayList<>();
+    private final Random random = new Random();
+    @Nullable
+    private RenderTarget target;
+    @Nullable
+    private BakedModel missingModel;
+    private int tileSize;
+    private int nextTile;
+    private boolean dirty = true;
+    
+    /**
+     * Draws the item from the atlas, or queues it to be baked into the atlas.
+     *
+     * @return whether the item was drawn from the atlas
+     */
+    boolean render(ItemStack stack, BakedModel model, PoseStack matrices, MultiBufferSource immediate, Rectangle bounds, float z) {
+        validate();
+        Long2ObjectMap<Tile> modelTiles = tiles.get(model);
+        if (modelTiles == null) {
+            tiles.put(model, modelTiles = new Long2ObjectOpenHashMap<>());
+        }
+        long hash = ItemComparatorRegistry.getInstance().hashOf(ComparisonContext.EXACT, stack);
+        Tile tile = modelTiles.get(hash);
+        if (tile == null) {
+            tile = isCacheable(stack, model) ? allocate(stack, model) : LIVE;
+            modelTiles.put(hash, tile);
+        }
+        if (tile == LIVE || !tile.baked || !ItemStack.isSame(tile.stack, stack) || !ItemStack.tagMatches(tile.stack, stack)) {
+            return false;
+        }
+        
+        float u0 = (float) tile.x / ATLAS_SIZE, u1 = (float) (tile.x + tileSize) / ATLAS_SIZE;
+        // Framebuffers are stored bottom up
+        float v0 = (float) (tile.y + tileSize) / ATLAS_SIZE, v1 = (float) tile.y / ATLAS_SIZE;
+        Matrix4f pose = matrices.last().pose();
+        VertexConsumer buffer = immediate.getBuffer(AtlasRenderType.ATLAS);
+        int x1 = bounds.x, y1 = bounds.y, x2 = bounds.getMaxX(), y2 = bounds.getMaxY();
+        buffer.vertex(pose, x1, y2, z).color(255, 255, 255, 255).uv(u0, v1).uv2(15728880).endVertex();
+        buffer.vertex(pose, x2, y2, z).color(255, 255, 255, 255).uv(u1, v1).uv2(15728880).endVertex();
+        buffer.vertex(pose, x2, y1, z).color(255, 255, 255, 255).uv(u1, v0).uv2(15728880).endVertex();
+        buffer.vertex(pose, x1, y1, z).color(255, 255, 255, 255).uv(u0, v0).uv2(15728880).endVertex();
+        return true;
+    }
+    
+    private boolean isCacheable(ItemStack stack, BakedModel model) {
+        if (stack.hasFoil() || model.isCustomRenderer()) return false;
+        for (Direction direction : Direction.values()) {
+            if (hasAnimatedSprite(model.getQuads(null, direction, random))) return false;
+        }
+        return !hasAnimatedSprite(model.getQuads(null, null, random));
+    }
+    
+    private static boolean hasAnimatedSprite(List<BakedQuad> quads) {
+        for (BakedQuad quad : quads) {
+            if (quad.getSprite().getFrameCount() > 1) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private Tile allocate(ItemStack stack, BakedModel model) {
+        int perRow = ATLAS_SIZE / tileSize;
+        if (nextTile >= perRow * perRow) {
+            return LIVE;
+        }
+        int index = nextTile++;
+        ItemStack copy = stack.copy();
+        copy.setCount(1);
+        Tile tile = new Tile(copy, (index % perRow) * tileSize, (index / perRow) * tileSize);
+        tile.model = model;
+        pending.add(tile);
+        return tile;
+    }
+    
+    private void validate() {
+        Minecraft minecraft = Minecraft.getInstance();
+        BakedModel missingModel = minecraft.getModelManager().getMissingModel();
+        int tileSize = (int) Math.ceil(16 * minecraft.getWindow().getGuiScale());
+        if (this.missingModel != missingModel || this.tileSize != tileSize) {
+            invalidate();
+            this.missingModel = missingModel;
+            this.tileSize = tileSize;
+        }
+    }
+    
+    void invalidate() {
+        tiles.clear();
+        pending.clear();
+        nextTile = 0;
+        dirty = true;
+    }
+    
+    /**
+     * Renders the queued items into the atlas, this must be called before any item is buffered for the frame.
+     */
+    @SuppressWarnings("deprecation")
+    void bakePending() {
+        if (pending.isEmpty()) return;
+        Minecraft minecraft = Minecraft.getInstance();
+        MultiBufferSource.BufferSource immediate = minecraft.renderBuffers().bufferSource();
+        immediate.endBatch();
+        RenderTarget target = getTarget();
+        target.bindWrite(false);
+        // Baking may start while a widget has a scissor enabled, which would clip the tiles in atlas space
+        boolean scissor = GL11.glIsEnabled(GL11.GL_SCISSOR_TEST);
+        if (scissor) GL11.glDisable(GL11.GL_SCISSOR_TEST);
+        if (dirty) {
+            RenderSystem.viewport(0, 0, ATLAS_SIZE, ATLAS_SIZE);
+            RenderSystem.clearColor(0, 0, 0, 0);
+            RenderSystem.clear(GL11.GL_COLOR_BUFFER_BIT | GL11.GL_DEPTH_BUFFER_BIT, Minecraft.ON_OSX);
+            dirty = false;
+        }
+        RenderSystem.matrixMode(GL11.GL_PROJECTION);
+        RenderSystem.pushMatrix();
+        RenderSystem.loadIdentity();
+        RenderSystem.ortho(0.0D, 16.0D, 16.0D, 0.0D, 1000.0D, 3000.0D);
+        RenderSystem.matrixMode(GL11.GL_MODELVIEW);
+        RenderSystem.pushMatrix();
+        RenderSystem.loadIdentity();
+        RenderSystem.translatef(0.0F, 0.0F, -2000.0F);
+        RenderSystem.enableRescaleNormal();
+        RenderSystem.enableAlphaTest();
+        RenderSystem.defaultAlphaFunc();
+        RenderSystem.enableBlend();
+        // Keep the coverage of translucent items in the alpha channel of the atlas, the colour is stored premultiplied
+        RenderSystem.blendFuncSeparate(GlStateManager.SourceFactor.SRC_ALPHA, GlStateManager.DestFactor.ONE_MINUS_SRC_ALPHA, GlStateManager.SourceFactor.ONE, GlStateManager.DestFactor.ONE_MINUS_SRC_ALPHA);
+        RenderSystem.enableDepthTest();
+        int baked = Math.min(pending.size(), MAX_BAKES_PER_FRAME);
+        for (Tile tile : pending.subList(0, baked)) {
+            RenderSystem.viewport(tile.x, tile.y, tileSize, tileSize);
+            boolean sideLit = tile.model.usesBlockLight();
+            if (!sideLit) Lighting.setupForFlatItems();
+            PoseStack matrices = new PoseStack();
+            matrices.translate(8, 8, 100);
+            matrices.scale(16, -16, 16);
+            minecraft.getItemRenderer().render(tile.stack, ItemTransforms.TransformType.GUI, false, matrices, immediate, 15728880, OverlayTexture.NO_OVERLAY, tile.model);
+            immediate.endBatch();
+            if (!sideLit) Lighting.setupFor3DItems();
+            tile.baked = true;
+            tile.model = null;
+        }
+        pending.subList(0, baked).clear();
+        RenderSystem.defaultBlendFunc();
+        RenderSystem.disableAlphaTest();
+        RenderSystem.disableRescaleNormal();
+        RenderSystem.matrixMode(GL11.GL_PROJECTION);
+        RenderSystem.popMatrix();
+        RenderSystem.matrixMode(GL11.GL_MODELVIEW);
+        RenderSystem.popMatrix();
+        minecraft.getMainRenderTarget().bindWrite(true);
+        if (scissor) GL11.glEnable(GL11.GL_SCISSOR_TEST);
+    }
+    
+    private RenderTarget getTarget() {
+        if (target == null) {
+            target = new RenderTarget(ATLAS_SIZE, ATLAS_SIZE, true, Minecraft.ON_OSX);
+            target.setFilterMode(GL11.GL_NEAREST);
+            Minecraft.getInstance().getTextureManager().register(LOCATION, new AtlasTexture(target));
+        }
+        return target;
+    }
+    
+    private static class Tile {
+        @Nullable
+        private final ItemStack stack;
+        private final int x;
+        private final int y;
+        @Nullable
+        private BakedModel model;
+        private boolean baked;
+        
+        private Tile(@Nullable ItemStack stack, int x, int y) {
+            this.stack = stack;
+            this.x = x;
+            this.y = y;
+        }
+    }
+    
+    private static class AtlasRenderType extends RenderType {
+        // The tiles are premultiplied, blending them with SRC_ALPHA again would darken translucent items
+        private static final TransparencyStateShard PREMULTIPLIED_TRANSPARENCY = new TransparencyStateShard("roughlyenoughitems_premultiplied_transparency", () -> {
+            RenderSystem.enableBlend();
+            RenderSystem.blendFuncSeparate(GlStateManager.SourceFactor.ONE, GlStateManager.DestFactor.ONE_MINUS_SRC_ALPHA, GlStateManager.SourceFactor.ONE, GlStateManager.DestFactor.ONE_MINUS_SRC_ALPHA);
+        }, () -> {
+            RenderSystem.disableBlend();
+            RenderSystem.defaultBlendFunc();
+        });
+        private static final RenderType ATLAS = create("roughlyenoughitems_item_icon_atlas", DefaultVertexFormat.POSITION_COLOR_TEX_LIGHTMAP, GL11.GL_QUADS, 256, false, true,
+                CompositeState.builder()
+                        .setTextureState(new TextureStateShard(LOCATION, false, false))
+                        .setAlphaState(DEFAULT_ALPHA)
+                        .setTransparencyState(PREMULTIPLIED_TRANSPARENCY)
+                        .setLightmapState(LIGHTMAP)
+                        .createCompositeState(false));
+        
+        private AtlasRenderType(String name, Runnable setupState, Runnable clearState) {
+            super(name, DefaultVertexFormat.POSITION_COLOR_TEX_LIGHTMAP, GL11.GL_QUADS, 256, false, true, setupState, clearState);
+        }
+    }
+    
+    private static class AtlasTexture extends AbstractTexture {
+        private final RenderTarget target;
+        
+        private AtlasTexture(RenderTarget target) {
+            this.target = target;
+        }
+        
+        @Override
+        public int getId() {
+            return target.getColorTextureId();
+        }
+        
+        @Override
+        public void releaseId() {
+            // The texture is owned by the render target
+        }
+        
+        @Override
+        public void load(ResourceManager manager) {}
+    }
+}